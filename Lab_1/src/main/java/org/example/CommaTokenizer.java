@@ -0,0 +1,41 @@
+package org.example;
+
+import java.util.Arrays;
+
+// Single-pass replacement for input.split(",") + trim + filter of empty strings
+public class CommaTokenizer {
+
+    public static TokenList tokenize(CharSequence input) {
+        int[] starts = new int[16];
+        int[] lengths = new int[16];
+        int size = 0;
+        int length = input.length();
+        int position = 0;
+        while (position <= length) {
+            int end = position;
+            while (end < length && input.charAt(end) != ',') {
+                end++;
+            }
+            // Same whitespace rule as String.trim
+            int start = position;
+            while (start < end && input.charAt(start) <= ' ') {
+                start++;
+            }
+            int stop = end;
+            while (stop > start && input.charAt(stop - 1) <= ' ') {
+                stop--;
+            }
+            if (stop > start) {
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    lengths = Arrays.copyOf(lengths, size * 2);
+                }
+                starts[size] = start;
+                lengths[size] = stop - start;
+                size++;
+            }
+            position = end + 1;
+        }
+        return new TokenList(input, starts, lengths, size);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Sequence of token lengths that stays in memory up to a limit and spills the rest to a temp file
+public class LengthIndex implements AutoCloseable {
+    private final int[] buffer;
+    private int buffered;
+    private long spilled;
+    private Path spillFile;
+    private DataOutputStream spillOut;
+
+    private DataInputStream spillIn;
+    private long spillRead;
+    private int bufferRead;
+
+    public LengthIndex(int inMemoryLengths) {
+        if (inMemoryLengths <= 0) {
+            throw new IllegalArgumentException("In-memory capacity must be positive");
+        }
+        this.buffer = new int[inMemoryLengths];
+    }
+
+    public void add(int length) throws IOException {
+        if (buffered == buffer.length) {
+            spill();
+        }
+        buffer[buffered++] = length;
+    }
+
+    public long size() {
+        return spilled + buffered;
+    }
+
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    // Starts reading the lengths back in insertion order: spilled part first, then the in-memory tail
+    public void rewind() throws IOException {
+        closeReader();
+        if (spillOut != null) {
+            spillOut.flush();
+        }
+        spillRead = 0;
+        bufferRead = 0;
+        if (spilled > 0) {
+            spillIn = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)));
+        }
+    }
+
+    public boolean hasNext() {
+        return spillRead < spilled || bufferRead < buffered;
+    }
+
+    public int next() throws IOException {
+        if (spillRead < spilled) {
+            spillRead++;
+            return spillIn.readInt();
+        }
+        if (bufferRead < buffered) {
+            return buffer[bufferRead++];
+        }
+        throw new IllegalStateException("No more lengths in index");
+    }
+
+    private void spill() throws IOException {
+        if (spillOut == null) {
+            spillFile = Files.createTempFile("length-index", ".bin");
+            spillOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+        }
+        for (int i = 0; i < buffered; i++) {
+            spillOut.writeInt(buffer[i]);
+        }
+        spilled += buffered;
+        buffered = 0;
+    }
+
+    private void closeReader() throws IOException {
+        if (spillIn != null) {
+            spillIn.close();
+            spillIn = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeReader();
+        if (spillOut != null) {
+            spillOut.close();
+            spillOut = null;
+        }
+        if (spillFile != null) {
+            Files.deleteIfExists(spillFile);
+            spillFile = null;
+        }
+    }
+}
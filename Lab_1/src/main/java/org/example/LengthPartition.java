@@ -0,0 +1,25 @@
+package org.example;
+
+public class LengthPartition {
+    private final double averageLength;
+    private final String[] lessThanAverage;
+    private final String[] greaterThanAverage;
+
+    public LengthPartition(double averageLength, String[] lessThanAverage, String[] greaterThanAverage) {
+        this.averageLength = averageLength;
+        this.lessThanAverage = lessThanAverage;
+        this.greaterThanAverage = greaterThanAverage;
+    }
+
+    public double getAverageLength() {
+        return averageLength;
+    }
+
+    public String[] getLessThanAverage() {
+        return lessThanAverage;
+    }
+
+    public String[] getGreaterThanAverage() {
+        return greaterThanAverage;
+    }
+}
@@ -1,8 +1,6 @@
 package org.example;
 
 import java.util.Scanner;
-import java.util.ArrayList;
-import java.util.List;
 
 public class Main {
     private static void printLine() {
@@ -16,7 +14,7 @@ public class Main {
 
         while (continueInput.equals("y") || continueInput.equals("yes")) {
             // Getting rows with checking for an empty array
-            String[] inputArray;
+            TokenList inputTokens;
             while (true) {
                 System.out.print("Enter strings separated by commas: ");
                 String input = scanner.nextLine().trim(); // Stores the result in the input variable
@@ -26,25 +24,14 @@ public class Main {
                     continue;
                 }
 
-                inputArray = input.split(","); // Splits a string into parts by commas, returns an array of strings between commas
-                for (int i = 0; i < inputArray.length; i++) {
-                    inputArray[i] = inputArray[i].trim();
-                }
-
-                // Removing blank lines after trim
-                List<String> tempList = new ArrayList<>();
-                for (String s : inputArray) {
-                    if (!s.isEmpty()) {
-                        tempList.add(s);
-                    }
-                }
+                // Splits by commas and trims in one scan, blank parts are skipped
+                inputTokens = CommaTokenizer.tokenize(input);
 
-                if (tempList.isEmpty()) {
+                if (inputTokens.isEmpty()) {
                     System.out.println("No valid strings found! Please enter at least one non-empty string.");
                     continue;
                 }
 
-                inputArray = tempList.toArray(new String[tempList.size()]);
                 break; // Exit the loop if everything is fine
             }
 
@@ -69,29 +56,28 @@ public class Main {
                 }
             }
 
-            double averageLength = StringLengthAnalyzer.calculateAverageLength(inputArray);
+            double averageLength = TokenLengthAnalyzer.calculateAverageLength(inputTokens);
             System.out.printf("Average length: %.2f%n", averageLength);
 
             switch (choice) {
                 case 1:
-                    String[] lessThanAverage = StringLengthAnalyzer.findStringsLessThanAverage(inputArray);
+                    String[] lessThanAverage = TokenLengthAnalyzer.findStringsLessThanAverage(inputTokens);
                     System.out.println("Strings with length less than average:");
                     printArray(lessThanAverage);
                     break;
                 case 2:
-                    String[] greaterThanAverage = StringLengthAnalyzer.findStringsGreaterThanAverage(inputArray);
+                    String[] greaterThanAverage = TokenLengthAnalyzer.findStringsGreaterThanAverage(inputTokens);
                     System.out.println("Strings with length greater than average:");
                     printArray(greaterThanAverage);
                     break;
                 case 3:
-                    String[] lessResult = StringLengthAnalyzer.findStringsLessThanAverage(inputArray);
-                    String[] greaterResult = StringLengthAnalyzer.findStringsGreaterThanAverage(inputArray);
+                    LengthPartition partition = TokenLengthAnalyzer.partitionByAverage(inputTokens);
 
                     System.out.println("Strings with length less than average:");
-                    printArray(lessResult);
+                    printArray(partition.getLessThanAverage());
 
                     System.out.println("Strings with length greater than average:");
-                    printArray(greaterResult);
+                    printArray(partition.getGreaterThanAverage());
                     break;
             }
 
@@ -21,6 +21,24 @@ public class StringLengthAnalyzer {
         return filterStrings(strings, averageLength, false);
     }
 
+    // Computes the average once and fills both partitions in a single traversal
+    public static LengthPartition partitionByAverage(String[] strings) {
+        if (strings == null || strings.length == 0) {
+            return new LengthPartition(0.0, new String[0], new String[0]);
+        }
+        double averageLength = calculateAverageLength(strings);
+        List<String> lessList = new ArrayList<>();
+        List<String> greaterList = new ArrayList<>();
+        for (String str : strings) {
+            if (str.length() < averageLength) {
+                lessList.add(str);
+            } else if (str.length() > averageLength) {
+                greaterList.add(str);
+            }
+        }
+        return new LengthPartition(averageLength, lessList.toArray(new String[0]), greaterList.toArray(new String[0]));
+    }
+
     public static double calculateAverageLength(String[] strings) {
         int totalLength = 0;
         for (String str : strings) {
@@ -0,0 +1,60 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// StringLengthAnalyzer for tokenized input: lengths come from the token views and only the selected tokens become Strings
+public class TokenLengthAnalyzer {
+
+    public static double calculateAverageLength(TokenList tokens) {
+        long totalLength = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            totalLength += tokens.length(i);
+        }
+        return (double) totalLength / tokens.size();
+    }
+
+    public static String[] findStringsLessThanAverage(TokenList tokens) {
+        if (tokens.isEmpty()) {
+            return new String[0];
+        }
+        return filterTokens(tokens, calculateAverageLength(tokens), true);
+    }
+
+    public static String[] findStringsGreaterThanAverage(TokenList tokens) {
+        if (tokens.isEmpty()) {
+            return new String[0];
+        }
+        return filterTokens(tokens, calculateAverageLength(tokens), false);
+    }
+
+    public static LengthPartition partitionByAverage(TokenList tokens) {
+        if (tokens.isEmpty()) {
+            return new LengthPartition(0.0, new String[0], new String[0]);
+        }
+        double averageLength = calculateAverageLength(tokens);
+        List<String> lessList = new ArrayList<>();
+        List<String> greaterList = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.length(i) < averageLength) {
+                lessList.add(tokens.get(i));
+            } else if (tokens.length(i) > averageLength) {
+                greaterList.add(tokens.get(i));
+            }
+        }
+        return new LengthPartition(averageLength, lessList.toArray(new String[0]), greaterList.toArray(new String[0]));
+    }
+
+    private static String[] filterTokens(TokenList tokens, double averageLength, boolean lessThan) {
+        List<String> resultList = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            int length = tokens.length(i);
+            boolean conditionMet = lessThan ? (length < averageLength) : (length > averageLength);
+
+            if (conditionMet) {
+                resultList.add(tokens.get(i));
+            }
+        }
+        return resultList.toArray(new String[0]);
+    }
+}
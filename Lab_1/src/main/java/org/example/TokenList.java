@@ -0,0 +1,53 @@
+package org.example;
+
+// Offset/length views of tokens inside one source sequence; a String is only created on request
+public class TokenList {
+    private final CharSequence source;
+    private final int[] starts;
+    private final int[] lengths;
+    private final int size;
+
+    TokenList(CharSequence source, int[] starts, int[] lengths, int size) {
+        this.source = source;
+        this.starts = starts;
+        this.lengths = lengths;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int length(int index) {
+        checkIndex(index);
+        return lengths[index];
+    }
+
+    // View of the token backed by the source, without copying for CharBuffer sources
+    public CharSequence view(int index) {
+        checkIndex(index);
+        return source.subSequence(starts[index], starts[index] + lengths[index]);
+    }
+
+    public String get(int index) {
+        return view(index).toString();
+    }
+
+    public String[] toArray() {
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Token index " + index + " out of bounds for size " + size);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingStringLengthAnalyzerTest {
+    @TempDir
+    Path tempDir;
+
+    // Test average length over comma- and newline-separated input with blanks to trim
+    @Test
+    void testAverageLength() throws IOException {
+        Path input = write(" apple, banana\npear ,, \n");
+        double result = new StreamingStringLengthAnalyzer().calculateAverageLength(input);
+        System.out.printf("Average - Expected: %.1f | Actual: %.1f%n", 5.0, result);
+        assertEquals(5.0, result);
+    }
+
+    // Test that both partitions match the in-memory analyzer
+    @Test
+    void testPartitionMatchesInMemoryAnalyzer() throws IOException {
+        Path input = write("abc, abcd\nabcde,ab\r\n");
+        List<String> less = new ArrayList<>();
+        List<String> greater = new ArrayList<>();
+
+        double average = new StreamingStringLengthAnalyzer().partitionByAverage(input, less::add, greater::add);
+
+        String[] strings = {"abc", "abcd", "abcde", "ab"};
+        System.out.printf("Less: %s | Greater: %s%n", less, greater);
+        assertEquals(StringLengthAnalyzer.calculateAverageLength(strings), average);
+        assertArrayEquals(StringLengthAnalyzer.findStringsLessThanAverage(strings), less.toArray(new String[0]));
+        assertArrayEquals(StringLengthAnalyzer.findStringsGreaterThanAverage(strings), greater.toArray(new String[0]));
+    }
+
+    // Test that results stay the same when the length index spills to disk
+    @Test
+    void testPartitionWithSpilledIndex() throws IOException {
+        StringBuilder content = new StringBuilder();
+        String[] strings = new String[1000];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = "x".repeat(i % 17 + 1) + "  y".repeat(i % 3);
+            content.append(strings[i]).append(i % 2 == 0 ? ",  " : "\n");
+        }
+        Path input = write(content.toString());
+        List<String> less = new ArrayList<>();
+        List<String> greater = new ArrayList<>();
+
+        new StreamingStringLengthAnalyzer(16).partitionByAverage(input, less::add, greater::add);
+
+        assertArrayEquals(StringLengthAnalyzer.findStringsLessThanAverage(strings), less.toArray(new String[0]));
+        assertArrayEquals(StringLengthAnalyzer.findStringsGreaterThanAverage(strings), greater.toArray(new String[0]));
+    }
+
+    // Test empty and blank-only input
+    @Test
+    void testEmptyInput() throws IOException {
+        Path input = write(" , \n ,");
+        List<String> result = new ArrayList<>();
+        double average = new StreamingStringLengthAnalyzer().partitionByAverage(input, result::add, result::add);
+        assertEquals(0.0, average);
+        assertTrue(result.isEmpty());
+    }
+
+    // Test the spillable length index directly
+    @Test
+    void testLengthIndexSpill() throws IOException {
+        try (LengthIndex index = new LengthIndex(4)) {
+            for (int i = 0; i < 10; i++) {
+                index.add(i);
+            }
+            assertTrue(index.isSpilled());
+            assertEquals(10, index.size());
+            index.rewind();
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, index.next());
+            }
+            assertFalse(index.hasNext());
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("input.txt");
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -122,6 +122,26 @@ class StringLengthAnalyzerTest {
         System.out.println();
     }
 
+    // Test that a single partition call returns the same results as the two separate filters
+    @Test
+    void testPartitionByAverage() {
+        System.out.println("=== testPartitionByAverage ===");
+
+        String[] input = {"abc", "abcd", "abcde", "ab"};
+        LengthPartition partition = StringLengthAnalyzer.partitionByAverage(input);
+        printCombinedResult("Partition", new String[]{"abc", "ab"}, partition.getLessThanAverage(),
+                new String[]{"abcd", "abcde"}, partition.getGreaterThanAverage());
+        assertEquals(3.5, partition.getAverageLength());
+        assertArrayEquals(StringLengthAnalyzer.findStringsLessThanAverage(input), partition.getLessThanAverage());
+        assertArrayEquals(StringLengthAnalyzer.findStringsGreaterThanAverage(input), partition.getGreaterThanAverage());
+
+        LengthPartition empty = StringLengthAnalyzer.partitionByAverage(null);
+        assertEquals(0, empty.getLessThanAverage().length);
+        assertEquals(0, empty.getGreaterThanAverage().length);
+
+        System.out.println();
+    }
+
     // Test edge cases: same length strings, single string, empty array, and null input
     @Test
     void testEdgeCases() {
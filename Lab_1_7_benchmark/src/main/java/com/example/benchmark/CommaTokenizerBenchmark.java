@@ -0,0 +1,78 @@
+package com.example.benchmark;
+
+import com.example.CommaTokenizer;
+import com.example.TokenLengthAnalyzer;
+import com.example.TokenList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Input parsing as Main does it: split/trim/filter versus the single-scan tokenizer.
+// Run with "-prof gc" to compare allocation per operation.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CommaTokenizerBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    private int tokens;
+
+    private String input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < tokens; i++) {
+            builder.append(" ".repeat(random.nextInt(3)))
+                    .append("x".repeat(1 + random.nextInt(12)))
+                    .append(i % 50 == 0 ? ", ," : ",");
+        }
+        input = builder.toString();
+    }
+
+    @Benchmark
+    public double splitTrimAverage() {
+        String[] strings = Arrays.stream(input.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toArray(String[]::new);
+        return com.example.StringLengthAnalyzer.calculateAverageLength(strings);
+    }
+
+    @Benchmark
+    public double tokenizeAverage() {
+        return TokenLengthAnalyzer.calculateAverageLength(CommaTokenizer.tokenize(input));
+    }
+
+    @Benchmark
+    public String[] splitTrimLessThanAverage() {
+        String[] strings = Arrays.stream(input.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toArray(String[]::new);
+        return com.example.StringLengthAnalyzer.findStringsLessThanAverage(strings);
+    }
+
+    @Benchmark
+    public String[] tokenizeLessThanAverage() {
+        TokenList tokenList = CommaTokenizer.tokenize(input);
+        return TokenLengthAnalyzer.findStringsLessThanAverage(tokenList);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.benchmark;
+
+import com.example.LengthBuckets;
+import com.example.ParallelStringLengthAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Lab_1 is the loop-based analyzer (org.example), Lab_7 the stream-based one (com.example).
+// Run with "-prof gc" to get allocation rates next to the throughput numbers.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class StringLengthAnalyzerBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"UNIFORM", "SKEWED"})
+    private Distribution distribution;
+
+    private String[] strings;
+    private ParallelStringLengthAnalyzer parallelAnalyzer;
+
+    public enum Distribution {
+        // Lengths 1..20 with equal probability
+        UNIFORM,
+        // Mostly short strings with a long exponential tail, like free-text exports
+        SKEWED
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        strings = new String[size];
+        for (int i = 0; i < size; i++) {
+            strings[i] = randomString(random, nextLength(random));
+        }
+        parallelAnalyzer = new ParallelStringLengthAnalyzer();
+    }
+
+    private int nextLength(Random random) {
+        if (distribution == Distribution.UNIFORM) {
+            return 1 + random.nextInt(20);
+        }
+        return 1 + (int) Math.min(500, -Math.log(1 - random.nextDouble()) * 6);
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    @Benchmark
+    public double lab1Average() {
+        return org.example.StringLengthAnalyzer.calculateAverageLength(strings);
+    }
+
+    @Benchmark
+    public double lab7Average() {
+        return com.example.StringLengthAnalyzer.calculateAverageLength(strings);
+    }
+
+    @Benchmark
+    public String[] lab1LessThanAverage() {
+        return org.example.StringLengthAnalyzer.findStringsLessThanAverage(strings);
+    }
+
+    @Benchmark
+    public String[] lab7LessThanAverage() {
+        return com.example.StringLengthAnalyzer.findStringsLessThanAverage(strings);
+    }
+
+    @Benchmark
+    public String[] lab1GreaterThanAverage() {
+        return org.example.StringLengthAnalyzer.findStringsGreaterThanAverage(strings);
+    }
+
+    @Benchmark
+    public String[] lab7GreaterThanAverage() {
+        return com.example.StringLengthAnalyzer.findStringsGreaterThanAverage(strings);
+    }
+
+    // Option 3 as Main used to run it: average plus two separate filters
+    @Benchmark
+    public void lab1BothSeparate(Blackhole blackhole) {
+        blackhole.consume(org.example.StringLengthAnalyzer.calculateAverageLength(strings));
+        blackhole.consume(org.example.StringLengthAnalyzer.findStringsLessThanAverage(strings));
+        blackhole.consume(org.example.StringLengthAnalyzer.findStringsGreaterThanAverage(strings));
+    }
+
+    @Benchmark
+    public void lab7BothSeparate(Blackhole blackhole) {
+        blackhole.consume(com.example.StringLengthAnalyzer.calculateAverageLength(strings));
+        blackhole.consume(com.example.StringLengthAnalyzer.findStringsLessThanAverage(strings));
+        blackhole.consume(com.example.StringLengthAnalyzer.findStringsGreaterThanAverage(strings));
+    }
+
+    // Option 3 as Main runs it now: average plus a single partition pass
+    @Benchmark
+    public void lab1BothPartition(Blackhole blackhole) {
+        blackhole.consume(org.example.StringLengthAnalyzer.calculateAverageLength(strings));
+        blackhole.consume(org.example.StringLengthAnalyzer.partitionByAverage(strings));
+    }
+
+    @Benchmark
+    public void lab7BothPartition(Blackhole blackhole) {
+        blackhole.consume(com.example.StringLengthAnalyzer.calculateAverageLength(strings));
+        blackhole.consume(com.example.StringLengthAnalyzer.partitionByAverage(strings));
+    }
+
+    @Benchmark
+    public LengthBuckets lab7ParallelPartition() {
+        return parallelAnalyzer.partition(strings);
+    }
+}
@@ -1,26 +1,121 @@
 package org.example;
 
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 public class CuratorJournal {
-    private final List<JournalEntry> entries;
+    // Entries are append-only, so a snapshot is just the shared array plus the size at the time it was taken.
+    // Writers are serialized, readers only read the volatile snapshot and never lock.
+    private volatile Snapshot snapshot;
+    private final Object writeLock = new Object();
+
+    // Index values are append-only postings built the same way as the snapshot, so adding an entry
+    // to a key is amortized O(1) and a lookup returns a view of the postings at the time of the call
+    private final Map<String, Postings> byLastName = new ConcurrentHashMap<>();
+    private final Map<String, Postings> byPhone = new ConcurrentHashMap<>();
+    private final Map<String, Postings> byStreet = new ConcurrentHashMap<>();
+    private final Map<Address, Postings> byAddress = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, Postings> byBirthDate = new ConcurrentSkipListMap<>();
+    private final NavigableMap<MonthDay, Postings> byBirthday = new ConcurrentSkipListMap<>();
 
     public CuratorJournal() {
-        this.entries = new ArrayList<>();
+        this.snapshot = new Snapshot(new JournalEntry[16], 0);
     }
 
     public void addEntry(JournalEntry entry) {
-        if (entry != null) {
-            entries.add(entry);
+        if (entry == null) {
+            return;
+        }
+        addEntries(List.of(entry));
+    }
+
+    // Adds a whole batch under one lock acquisition and publishes it as a single new snapshot
+    public void addEntries(Collection<JournalEntry> batch) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            JournalEntry[] entries = current.entries;
+            int size = current.size;
+            if (size + batch.size() > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, size + batch.size()));
+            }
+            for (JournalEntry entry : batch) {
+                if (entry == null) {
+                    continue;
+                }
+                entries[size++] = entry;
+
+                index(byLastName, entry.getLastName(), entry);
+                index(byPhone, entry.getPhone(), entry);
+                index(byStreet, entry.getStreet(), entry);
+                if (entry.getStreet() != null && entry.getHouse() != null) {
+                    index(byAddress, new Address(entry.getStreet(), entry.getHouse()), entry);
+                }
+                if (entry.getBirthDate() != null) {
+                    index(byBirthDate, entry.getBirthDate(), entry);
+                    index(byBirthday, MonthDay.from(entry.getBirthDate()), entry);
+                }
+            }
+            snapshot = new Snapshot(entries, size);
         }
     }
 
+    // Immutable view of the entries at the time of the call; later additions are not visible in it
     public List<JournalEntry> getAllEntries() {
-        return new ArrayList<>(entries);
+        return snapshot;
+    }
+
+    public List<JournalEntry> findByLastName(String lastName) {
+        return lastName == null ? List.of() : find(byLastName, lastName);
+    }
+
+    public List<JournalEntry> findByPhone(String phone) {
+        return phone == null ? List.of() : find(byPhone, phone);
+    }
+
+    public List<JournalEntry> findByStreet(String street) {
+        return street == null ? List.of() : find(byStreet, street);
+    }
+
+    public List<JournalEntry> findByAddress(String street, String house) {
+        if (street == null || house == null) {
+            return List.of();
+        }
+        return find(byAddress, new Address(street, house));
+    }
+
+    // Both bounds are inclusive
+    public List<JournalEntry> findByBirthDateBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return List.of();
+        }
+        return flatten(byBirthDate.subMap(from, true, to, true).values());
+    }
+
+    // Birthdays between two days of the year regardless of birth year, both bounds inclusive
+    public List<JournalEntry> findByBirthdayBetween(MonthDay from, MonthDay to) {
+        if (from.isAfter(to)) {
+            return List.of();
+        }
+        return flatten(byBirthday.subMap(from, true, to, true).values());
+    }
+
+    public List<JournalEntry> findByBirthdayMonth(Month month) {
+        return findByBirthdayBetween(MonthDay.of(month, 1), MonthDay.of(month, month.maxLength()));
     }
 
     public void displayAllEntries() {
+        List<JournalEntry> entries = snapshot;
         if (entries.isEmpty()) {
             System.out.println("\nCurator journal is empty.");
             return;
@@ -34,6 +129,76 @@ public class CuratorJournal {
     }
 
     public int getEntriesCount() {
-        return entries.size();
+        return snapshot.size;
+    }
+
+    // Only called under the write lock
+    private static <K> void index(Map<K, Postings> index, K key, JournalEntry entry) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfAbsent(key, k -> new Postings()).add(entry);
+    }
+
+    private static <K> List<JournalEntry> find(Map<K, Postings> index, K key) {
+        Postings postings = index.get(key);
+        return postings == null ? List.of() : postings.snapshot();
+    }
+
+    private static List<JournalEntry> flatten(Collection<Postings> postings) {
+        List<JournalEntry> result = new ArrayList<>();
+        for (Postings list : postings) {
+            result.addAll(list.snapshot());
+        }
+        return List.copyOf(result);
+    }
+
+    private record Address(String street, String house) {
+    }
+
+    // Appended to by the writer only. The array is published before the size that covers it, and an
+    // array is never written past the size once it has been replaced, so a reader that reads the size
+    // first always finds that many entries in whichever array it reads next.
+    private static final class Postings {
+        private volatile JournalEntry[] entries = new JournalEntry[2];
+        private volatile int size;
+
+        void add(JournalEntry entry) {
+            JournalEntry[] current = entries;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                entries = current;
+            }
+            current[size] = entry;
+            size = size + 1;
+        }
+
+        List<JournalEntry> snapshot() {
+            int count = size;
+            return new Snapshot(entries, count);
+        }
+    }
+
+    private static final class Snapshot extends AbstractList<JournalEntry> implements RandomAccess {
+        private final JournalEntry[] entries;
+        private final int size;
+
+        Snapshot(JournalEntry[] entries, int size) {
+            this.entries = entries;
+            this.size = size;
+        }
+
+        @Override
+        public JournalEntry get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            return entries[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package org.example;
+
+public record ImportResult(long imported, long rejected) {
+}
@@ -0,0 +1,314 @@
+package org.example;
+
+import java.time.LocalDate;
+
+// Validation rules for journal fields without any console interaction.
+// Every check returns null for a valid value or the error message otherwise, so the same rules
+// serve ConsoleInputValidator and JournalImporter. Instances are immutable and thread-safe.
+// Checks read the CharSequence in place: no substrings, no Integer.parseInt, and nothing is
+// allocated unless a message has to include the input.
+public class JournalEntryValidator {
+    // Global constants for validation rules
+    public static final int MAX_NAME_LENGTH = 20;
+    public static final int MAX_STREET_LENGTH = 30;
+    public static final int MIN_HOUSE_NUMBER = 1;
+    public static final int MAX_HOUSE_NUMBER = 999;
+    // Longest house and apartment text, e.g. with leading zeros or several letters; the journal file sizes its slots by these
+    public static final int MAX_HOUSE_LENGTH = 16;
+    public static final int MAX_APARTMENT_LENGTH = 10;
+    public static final int MIN_APARTMENT_NUMBER = 1;
+    public static final int MAX_APARTMENT_NUMBER = 9999;
+    public static final int MIN_BIRTH_YEAR = 1900;
+    public static final int MAX_AGE_YEARS = 100;
+    public static final int PHONE_LENGTH = 13;
+    public static final String PHONE_PREFIX = "+380";
+    private static final int DATE_LENGTH = 10;
+    private static final char DATE_SEPARATOR = '.';
+    private static final String REQUIRED_MESSAGE = "This field is required.";
+
+    // Date format positions
+    private static final int DAY_START = 0;
+    private static final int MONTH_START = 3;
+    private static final int YEAR_START = 6;
+
+    // Days in each month (non-leap year)
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private static final String[] MONTH_NAMES = {
+            "January", "February", "March", "April", "May", "June",
+            "July", "August", "September", "October", "November", "December"
+    };
+
+    private final LocalDate today;
+    // today and the oldest allowed birth date as yyyyMMdd numbers
+    private final int todayNumber;
+    private final int oldestNumber;
+
+    public JournalEntryValidator() {
+        this(LocalDate.now());
+    }
+
+    // The reference date is fixed so results do not change while a long import is running
+    public JournalEntryValidator(LocalDate today) {
+        this.today = today;
+        this.todayNumber = toNumber(today);
+        this.oldestNumber = toNumber(today.minusYears(MAX_AGE_YEARS));
+    }
+
+    public String validateName(CharSequence input) {
+        if (input.isEmpty()) {
+            return REQUIRED_MESSAGE;
+        }
+        if (!Character.isUpperCase(input.charAt(0))) {
+            return "Name must start with uppercase letter.";
+        }
+        // Character validation: letters, apostrophes, and hyphens are allowed
+        for (int i = 1; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (!Character.isLetter(c) && c != '\'' && c != '-') {
+                return "Name can only contain letters, apostrophes and hyphens.";
+            }
+        }
+        if (input.length() > MAX_NAME_LENGTH) {
+            return "Name cannot exceed " + MAX_NAME_LENGTH + " characters.";
+        }
+        return null;
+    }
+
+    public String validateBirthDate(CharSequence input) {
+        if (input.isEmpty()) {
+            return REQUIRED_MESSAGE;
+        }
+
+        // Basic format validation
+        if (input.length() != DATE_LENGTH || input.charAt(2) != DATE_SEPARATOR || input.charAt(5) != DATE_SEPARATOR) {
+            return "Date must be in format dd.MM.yyyy.";
+        }
+
+        // Read day, month, year parts in place
+        int day = parseDigits(input, DAY_START, 2);
+        int month = parseDigits(input, MONTH_START, 2);
+        int year = parseDigits(input, YEAR_START, 4);
+        if (day < 0 || month < 0 || year < 0) {
+            return "Date must contain only numbers in format dd.MM.yyyy.";
+        }
+
+        // Validate year range
+        if (year < MIN_BIRTH_YEAR || year > today.getYear()) {
+            return "Year must be between " + MIN_BIRTH_YEAR + " and " + today.getYear() + ".";
+        }
+
+        // Validate month
+        if (month < 1 || month > 12) {
+            return "Month must be between 01 and 12.";
+        }
+
+        // Validate day based on month and leap year
+        if (!isValidDayForMonth(day, month, year)) {
+            int maxDays = getDaysInMonth(month, year);
+            return "Invalid date '" + input + "'. " +
+                    MONTH_NAMES[month - 1] + " " + year + " has only " + maxDays + " days" +
+                    (isLeapYear(year) && month == 2 ? " (leap year)" : "") + ".";
+        }
+
+        // Compare as yyyyMMdd numbers so no LocalDate is created for the check
+        int date = year * 10000 + month * 100 + day;
+        if (date > todayNumber) {
+            return "Birth date cannot be in the future.";
+        }
+
+        // Check if date is too old
+        if (date < oldestNumber) {
+            return "Birth date cannot be more than " + MAX_AGE_YEARS + " years ago.";
+        }
+        return null;
+    }
+
+    // Only for input that passed validateBirthDate
+    public LocalDate parseBirthDate(CharSequence input) {
+        return LocalDate.of(parseDigits(input, YEAR_START, 4), parseDigits(input, MONTH_START, 2),
+                parseDigits(input, DAY_START, 2));
+    }
+
+    public String validatePhone(CharSequence input) {
+        if (input.isEmpty()) {
+            return REQUIRED_MESSAGE;
+        }
+        if (!startsWith(input, PHONE_PREFIX)) {
+            return "Phone must start with " + PHONE_PREFIX + ".";
+        }
+        if (input.length() != PHONE_LENGTH) {
+            return "Phone must be exactly " + PHONE_LENGTH + " characters long.";
+        }
+        for (int i = 1; i < input.length(); i++) {
+            if (!Character.isDigit(input.charAt(i))) {
+                return "Phone can only contain digits after " + PHONE_PREFIX + ".";
+            }
+        }
+        return null;
+    }
+
+    public String validateStreet(CharSequence input) {
+        if (input.isEmpty()) {
+            return REQUIRED_MESSAGE;
+        }
+        if (!Character.isUpperCase(input.charAt(0))) {
+            return "Street name must start with uppercase letter.";
+        }
+        if (input.length() > MAX_STREET_LENGTH) {
+            return "Street name cannot exceed " + MAX_STREET_LENGTH + " characters.";
+        }
+        return null;
+    }
+
+    public String validateHouseNumber(CharSequence input) {
+        if (input.isEmpty()) {
+            return REQUIRED_MESSAGE;
+        }
+        if (!Character.isDigit(input.charAt(0))) {
+            return "House number must start with a digit.";
+        }
+        if (input.length() > MAX_HOUSE_LENGTH) {
+            return "House number cannot exceed " + MAX_HOUSE_LENGTH + " characters.";
+        }
+
+        int i = 0;
+        boolean hasFraction = false;
+        boolean validFormat = true;
+
+        while (i < input.length()) {
+            char currentChar = input.charAt(i);
+            if (Character.isDigit(currentChar)) {
+                i++;
+            } else if (currentChar == '/') {
+                // Cannot be: "/15", "15/", two "/"
+                if (hasFraction || i == 0 || i == input.length() - 1) {
+                    validFormat = false;
+                    break;
+                }
+                hasFraction = true;
+                i++;
+            } else if (Character.isLetter(currentChar)) {
+                // Letters can only be at the end
+                for (int j = i + 1; j < input.length(); j++) {
+                    if (!Character.isLetter(input.charAt(j))) {
+                        validFormat = false;
+                        break;
+                    }
+                }
+                break;
+            } else {
+                validFormat = false; // Other characters are not allowed
+                break;
+            }
+        }
+
+        if (!validFormat) {
+            return "Invalid house number format.";
+        }
+
+        // The main number is the leading run of digits, before the fraction or the letters
+        int digitEnd = 0;
+        while (digitEnd < input.length() && Character.isDigit(input.charAt(digitEnd))) {
+            digitEnd++;
+        }
+
+        if (digitEnd == 0) {
+            return "House number must contain digits.";
+        }
+
+        long houseNumber = parseNumber(input, 0, digitEnd);
+        if (houseNumber > Integer.MAX_VALUE) {
+            return "Invalid house number format.";
+        }
+        if (houseNumber < MIN_HOUSE_NUMBER || houseNumber > MAX_HOUSE_NUMBER) {
+            return "House number must be between " + MIN_HOUSE_NUMBER + " and " + MAX_HOUSE_NUMBER + ".";
+        }
+
+        if (input.charAt(input.length() - 1) == '/') {
+            return "House number cannot end with a fraction.";
+        }
+        return null;
+    }
+
+    public String validateApartmentNumber(CharSequence input) {
+        if (input.isEmpty()) {
+            return REQUIRED_MESSAGE;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            if (!Character.isDigit(input.charAt(i))) {
+                return "Apartment number can only contain digits.";
+            }
+        }
+        if (input.length() > MAX_APARTMENT_LENGTH) {
+            return "Apartment number cannot exceed " + MAX_APARTMENT_LENGTH + " characters.";
+        }
+        long apartmentNumber = parseNumber(input, 0, input.length());
+        if (apartmentNumber > Integer.MAX_VALUE) {
+            return "Invalid apartment number format.";
+        }
+        if (apartmentNumber < MIN_APARTMENT_NUMBER || apartmentNumber > MAX_APARTMENT_NUMBER) {
+            return "Apartment number must be between " + MIN_APARTMENT_NUMBER + " and " + MAX_APARTMENT_NUMBER + ".";
+        }
+        return null;
+    }
+
+    // Value of exactly count ASCII digits starting at start, or -1 if any of them is not a digit
+    private static int parseDigits(CharSequence input, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // Value of a run of digits; anything above Integer.MAX_VALUE is reported as Integer.MAX_VALUE + 1
+    private static long parseNumber(CharSequence input, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + Character.digit(input.charAt(i), 10);
+            if (value > Integer.MAX_VALUE) {
+                return Integer.MAX_VALUE + 1L;
+            }
+        }
+        return value;
+    }
+
+    private static boolean startsWith(CharSequence input, String prefix) {
+        if (input.length() < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (input.charAt(i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int toNumber(LocalDate date) {
+        return date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    private boolean isValidDayForMonth(int day, int month, int year) {
+        if (day < 1) return false;
+
+        int maxDays = getDaysInMonth(month, year);
+        return day <= maxDays;
+    }
+
+    private int getDaysInMonth(int month, int year) {
+        if (month == 2 && isLeapYear(year)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month - 1];
+    }
+
+    private boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || (year % 400 == 0);
+    }
+}
@@ -0,0 +1,177 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+// Bulk loader for CSV/TSV student records with the columns
+// last name, first name, birth date (dd.MM.yyyy), phone, street, house, apartment.
+// Lines are read in batches, batches are validated in parallel, and results are committed in file order:
+// valid entries go to the journal one batch at a time, rejected lines go to the error report.
+public class JournalImporter {
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+    private static final String[] FIELD_NAMES = {
+            "Last name", "First name", "Birth date", "Phone", "Street", "House number", "Apartment number"
+    };
+
+    private final CuratorJournal journal;
+    private final JournalEntryValidator validator;
+    private final int batchSize;
+    private final int threads;
+
+    public JournalImporter(CuratorJournal journal) {
+        this(journal, new JournalEntryValidator(), DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public JournalImporter(CuratorJournal journal, JournalEntryValidator validator, int batchSize, int threads) {
+        if (batchSize <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Batch size and thread count must be positive");
+        }
+        this.journal = journal;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.threads = threads;
+    }
+
+    // Tab-separated for .tsv files, comma-separated otherwise, no header row
+    public ImportResult importFile(Path input, Path errorReport) throws IOException {
+        char delimiter = input.getFileName().toString().toLowerCase().endsWith(".tsv") ? '\t' : ',';
+        return importFile(input, delimiter, false, errorReport);
+    }
+
+    public ImportResult importFile(Path input, char delimiter, boolean hasHeader, Path errorReport) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             Writer errors = Files.newBufferedWriter(errorReport, StandardCharsets.UTF_8)) {
+            return importFrom(reader, delimiter, hasHeader, errors);
+        }
+    }
+
+    public ImportResult importFrom(BufferedReader reader, char delimiter, boolean hasHeader, Writer errors) throws IOException {
+        Pattern separator = Pattern.compile(Pattern.quote(String.valueOf(delimiter)));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<BatchResult>> inFlight = new ArrayDeque<>();
+        long[] totals = new long[2]; // imported, rejected
+        try {
+            int lineNumber = 0;
+            if (hasHeader && reader.readLine() != null) {
+                lineNumber++;
+            }
+            List<String> lines = new ArrayList<>(batchSize);
+            int firstLine = lineNumber + 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                lines.add(line);
+                if (lines.size() == batchSize) {
+                    submit(executor, inFlight, lines, firstLine, separator, errors, totals);
+                    lines = new ArrayList<>(batchSize);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(executor, inFlight, lines, firstLine, separator, errors, totals);
+            }
+            while (!inFlight.isEmpty()) {
+                commit(inFlight.removeFirst(), errors, totals);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        errors.flush();
+        return new ImportResult(totals[0], totals[1]);
+    }
+
+    // Keeps at most two batches per thread in flight so reading does not run far ahead of validation
+    private void submit(ExecutorService executor, Deque<Future<BatchResult>> inFlight, List<String> lines, int firstLine,
+                        Pattern separator, Writer errors, long[] totals) throws IOException {
+        if (inFlight.size() >= threads * 2) {
+            commit(inFlight.removeFirst(), errors, totals);
+        }
+        inFlight.addLast(executor.submit(() -> validateBatch(lines, firstLine, separator)));
+    }
+
+    private void commit(Future<BatchResult> future, Writer errors, long[] totals) throws IOException {
+        BatchResult result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import was interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Validation failed", e.getCause());
+        }
+        journal.addEntries(result.entries);
+        for (String rejection : result.rejections) {
+            errors.write(rejection);
+            errors.write(System.lineSeparator());
+        }
+        totals[0] += result.entries.size();
+        totals[1] += result.rejections.size();
+    }
+
+    private BatchResult validateBatch(List<String> lines, int firstLine, Pattern separator) {
+        BatchResult result = new BatchResult(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = separator.split(line, -1);
+            StringBuilder problems = new StringBuilder();
+            if (fields.length != FIELD_NAMES.length) {
+                problems.append("Expected ").append(FIELD_NAMES.length).append(" fields but found ").append(fields.length);
+            } else {
+                for (int field = 0; field < fields.length; field++) {
+                    fields[field] = fields[field].trim();
+                    String error = validateField(field, fields[field]);
+                    if (error != null) {
+                        if (problems.length() > 0) {
+                            problems.append("; ");
+                        }
+                        problems.append(FIELD_NAMES[field]).append(": ").append(error);
+                    }
+                }
+            }
+            if (problems.length() == 0) {
+                result.entries.add(new JournalEntry(fields[0], fields[1], validator.parseBirthDate(fields[2]),
+                        fields[3], fields[4], fields[5], fields[6]));
+            } else {
+                result.rejections.add("line " + (firstLine + i) + ": " + problems + " | " + line);
+            }
+        }
+        return result;
+    }
+
+    private String validateField(int field, String value) {
+        return switch (field) {
+            case 0, 1 -> validator.validateName(value);
+            case 2 -> validator.validateBirthDate(value);
+            case 3 -> validator.validatePhone(value);
+            case 4 -> validator.validateStreet(value);
+            case 5 -> validator.validateHouseNumber(value);
+            default -> validator.validateApartmentNumber(value);
+        };
+    }
+
+    private static class BatchResult {
+        private final List<JournalEntry> entries;
+        private final List<String> rejections = new ArrayList<>();
+
+        BatchResult(int capacity) {
+            this.entries = new ArrayList<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// Durable journal storage: an append-only file of fixed-width binary records.
+// The record count follows from the file size, so opening a journal only reads the header.
+// Records are read through read-only memory-mapped segments and decoded one at a time,
+// so paging through the file never keeps more than the current page on the heap.
+// Strings are stored as UTF-16 chars in fixed slots sized for the validator limits.
+// A record left half-written by a crash is cut off the next time the file is opened.
+public class JournalLog implements Closeable {
+    private static final int MAGIC = 0x4A524E4C; // "JRNL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private static final int NAME_CHARS = JournalEntryValidator.MAX_NAME_LENGTH;
+    private static final int PHONE_CHARS = 16;
+    private static final int STREET_CHARS = JournalEntryValidator.MAX_STREET_LENGTH;
+    private static final int HOUSE_CHARS = JournalEntryValidator.MAX_HOUSE_LENGTH;
+    private static final int APARTMENT_CHARS = JournalEntryValidator.MAX_APARTMENT_LENGTH;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NULL_LENGTH = 0xFF;
+
+    // Layout: last name, first name, birth epoch day, phone, street, house, apartment.
+    // Each string slot is one length byte (0xFF for null) followed by its chars.
+    private static final int LAST_NAME_OFFSET = 0;
+    private static final int FIRST_NAME_OFFSET = LAST_NAME_OFFSET + slotSize(NAME_CHARS);
+    private static final int BIRTH_DATE_OFFSET = FIRST_NAME_OFFSET + slotSize(NAME_CHARS);
+    private static final int PHONE_OFFSET = BIRTH_DATE_OFFSET + Integer.BYTES;
+    private static final int STREET_OFFSET = PHONE_OFFSET + slotSize(PHONE_CHARS);
+    private static final int HOUSE_OFFSET = STREET_OFFSET + slotSize(STREET_CHARS);
+    private static final int APARTMENT_OFFSET = HOUSE_OFFSET + slotSize(HOUSE_CHARS);
+    static final int RECORD_SIZE = (APARTMENT_OFFSET + slotSize(APARTMENT_CHARS) + 7) & ~7;
+
+    // Mapping in segments keeps every mapping well below the 2 GB limit of a single buffer
+    private static final int SEGMENT_RECORDS = 1 << 16;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final FileChannel channel;
+    private MappedByteBuffer[] segments = new MappedByteBuffer[1];
+    private int size;
+
+    private JournalLog(FileChannel channel, int size) {
+        this.channel = channel;
+        this.size = size;
+    }
+
+    // Opens an existing journal file or creates an empty one
+    public static JournalLog open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileSize = channel.size();
+            if (fileSize == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0);
+                writeFully(channel, header.flip(), 0);
+                channel.force(true);
+                return new JournalLog(channel, 0);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Not a journal file: " + file);
+            }
+            int version = header.getInt();
+            int recordSize = header.getInt();
+            if (version != VERSION || recordSize != RECORD_SIZE) {
+                throw new IOException("Unsupported journal format in " + file
+                        + " (version " + version + ", record size " + recordSize + ")");
+            }
+
+            long records = (fileSize - HEADER_SIZE) / RECORD_SIZE;
+            if (records > Integer.MAX_VALUE) {
+                throw new IOException("Journal file is too large: " + file);
+            }
+            long validSize = HEADER_SIZE + records * RECORD_SIZE;
+            if (validSize != fileSize) {
+                channel.truncate(validSize);
+            }
+            return new JournalLog(channel, (int) records);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public synchronized void append(JournalEntry entry) throws IOException {
+        if (entry == null) {
+            return;
+        }
+        appendAll(List.of(entry));
+    }
+
+    // Writes the whole batch with one positional write; a failed batch is not counted
+    public synchronized void appendAll(Collection<JournalEntry> entries) throws IOException {
+        List<JournalEntry> batch = new ArrayList<>(entries.size());
+        for (JournalEntry entry : entries) {
+            if (entry != null) {
+                batch.add(entry);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if ((long) size + batch.size() > Integer.MAX_VALUE) {
+            throw new IOException("Journal file cannot hold more than " + Integer.MAX_VALUE + " entries");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(batch.size() * RECORD_SIZE);
+        for (JournalEntry entry : batch) {
+            encode(buffer, entry);
+        }
+        writeFully(channel, buffer.flip(), HEADER_SIZE + (long) size * RECORD_SIZE);
+        size += batch.size();
+    }
+
+    public synchronized JournalEntry get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return decode(segmentFor(index), (index % SEGMENT_RECORDS) * RECORD_SIZE);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Decodes at most count entries starting at from; only this page is materialized
+    public synchronized List<JournalEntry> readPage(int from, int count) {
+        if (from < 0 || count < 0) {
+            throw new IllegalArgumentException("Page start and size cannot be negative");
+        }
+        int to = (int) Math.min(size, (long) from + count);
+        List<JournalEntry> page = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            page.add(get(i));
+        }
+        return page;
+    }
+
+    // Prints one page numbered from 1 and returns the index of the first entry after it
+    public int displayEntries(int from, int count) {
+        List<JournalEntry> page = readPage(from, count);
+        for (int i = 0; i < page.size(); i++) {
+            System.out.println((from + i + 1) + ". " + page.get(i));
+        }
+        return from + page.size();
+    }
+
+    public void displayAllEntries() {
+        int total = size();
+        if (total == 0) {
+            System.out.println("\nCurator journal is empty.");
+            return;
+        }
+
+        System.out.println("\n=== ALL CURATOR JOURNAL ENTRIES ===");
+        int next = 0;
+        while (next < total) {
+            next = displayEntries(next, DEFAULT_PAGE_SIZE);
+        }
+        System.out.println("===================================");
+    }
+
+    // Flushes appended records to the storage device
+    public synchronized void sync() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            channel.force(false);
+        } finally {
+            Arrays.fill(segments, null);
+            channel.close();
+        }
+    }
+
+    // Maps the segment holding index, remapping the last segment once appends have outgrown it
+    private ByteBuffer segmentFor(int index) {
+        int segment = index / SEGMENT_RECORDS;
+        if (segment >= segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(segments.length * 2, segment + 1));
+        }
+        MappedByteBuffer mapped = segments[segment];
+        int offset = (index % SEGMENT_RECORDS) * RECORD_SIZE;
+        if (mapped == null || mapped.capacity() < offset + RECORD_SIZE) {
+            long first = (long) segment * SEGMENT_RECORDS;
+            int records = (int) Math.min(SEGMENT_RECORDS, size - first);
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * RECORD_SIZE, (long) records * RECORD_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot map journal records", e);
+            }
+            segments[segment] = mapped;
+        }
+        return mapped;
+    }
+
+    private static void encode(ByteBuffer buffer, JournalEntry entry) {
+        int start = buffer.position();
+        putString(buffer, start + LAST_NAME_OFFSET, "Last name", entry.getLastName(), NAME_CHARS);
+        putString(buffer, start + FIRST_NAME_OFFSET, "First name", entry.getFirstName(), NAME_CHARS);
+        LocalDate birthDate = entry.getBirthDate();
+        buffer.putInt(start + BIRTH_DATE_OFFSET, birthDate == null ? NO_DATE : (int) birthDate.toEpochDay());
+        putString(buffer, start + PHONE_OFFSET, "Phone", entry.getPhone(), PHONE_CHARS);
+        putString(buffer, start + STREET_OFFSET, "Street", entry.getStreet(), STREET_CHARS);
+        putString(buffer, start + HOUSE_OFFSET, "House", entry.getHouse(), HOUSE_CHARS);
+        putString(buffer, start + APARTMENT_OFFSET, "Apartment", entry.getApartment(), APARTMENT_CHARS);
+        buffer.position(start + RECORD_SIZE);
+    }
+
+    private static JournalEntry decode(ByteBuffer buffer, int start) {
+        int epochDay = buffer.getInt(start + BIRTH_DATE_OFFSET);
+        return new JournalEntry(
+                getString(buffer, start + LAST_NAME_OFFSET),
+                getString(buffer, start + FIRST_NAME_OFFSET),
+                epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay),
+                getString(buffer, start + PHONE_OFFSET),
+                getString(buffer, start + STREET_OFFSET),
+                getString(buffer, start + HOUSE_OFFSET),
+                getString(buffer, start + APARTMENT_OFFSET));
+    }
+
+    private static void putString(ByteBuffer buffer, int offset, String field, String value, int maxChars) {
+        if (value == null) {
+            buffer.put(offset, (byte) NULL_LENGTH);
+            return;
+        }
+        if (value.length() > maxChars) {
+            throw new IllegalArgumentException(field + " cannot exceed " + maxChars
+                    + " characters in the journal file: " + value);
+        }
+        buffer.put(offset, (byte) value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer.putChar(offset + 1 + i * Character.BYTES, value.charAt(i));
+        }
+    }
+
+    private static String getString(ByteBuffer buffer, int offset) {
+        int length = buffer.get(offset) & 0xFF;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = buffer.getChar(offset + 1 + i * Character.BYTES);
+        }
+        return new String(chars);
+    }
+
+    private static int slotSize(int maxChars) {
+        return 1 + maxChars * Character.BYTES;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
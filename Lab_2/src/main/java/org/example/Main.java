@@ -1,14 +1,20 @@
 package org.example;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 public class Main {
+    // Entries are kept in this file between runs unless another path is given as the first argument
+    private static final String DEFAULT_JOURNAL_FILE = "curator-journal.dat";
+
     public static void main(String[] args) {
+        Path journalFile = Path.of(args.length > 0 ? args[0] : DEFAULT_JOURNAL_FILE);
         ConsoleInputValidator inputHandler = new ConsoleInputValidator();
-        CuratorJournal journal = new CuratorJournal();
         Scanner scanner = new Scanner(System.in);
 
-        try {
+        try (JournalLog journal = JournalLog.open(journalFile)) {
+            System.out.println("Loaded " + journal.size() + " entries from " + journalFile);
             boolean running = true;
 
             while (running) {
@@ -18,12 +24,16 @@ public class Main {
                 switch (choice) {
                     case "1":
                         JournalEntry newEntry = inputHandler.inputJournalEntry();
-                        journal.addEntry(newEntry);
-                        System.out.println("\nEntry successfully added to journal!");
+                        try {
+                            journal.append(newEntry);
+                            System.out.println("\nEntry successfully added to journal!");
+                        } catch (IllegalArgumentException e) {
+                            System.out.println("\nEntry was not added: " + e.getMessage());
+                        }
                         break;
 
                     case "2":
-                        journal.displayAllEntries();
+                        displayEntriesByPage(journal, scanner);
                         break;
 
                     case "3":
@@ -35,12 +45,34 @@ public class Main {
                         System.out.println("Invalid choice. Please try again.");
                 }
             }
+        } catch (IOException e) {
+            System.out.println("Error: cannot use journal file " + journalFile + ": " + e.getMessage());
         } finally {
             inputHandler.close();
             scanner.close();
         }
     }
 
+    // Shows one page at a time; only the page on screen is read from the file
+    private static void displayEntriesByPage(JournalLog journal, Scanner scanner) {
+        int total = journal.size();
+        if (total == 0) {
+            System.out.println("\nCurator journal is empty.");
+            return;
+        }
+
+        System.out.println("\n=== ALL CURATOR JOURNAL ENTRIES ===");
+        int next = journal.displayEntries(0, JournalLog.DEFAULT_PAGE_SIZE);
+        while (next < total) {
+            System.out.print("Shown " + next + " of " + total + ". Press Enter for more or 'q' to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                break;
+            }
+            next = journal.displayEntries(next, JournalLog.DEFAULT_PAGE_SIZE);
+        }
+        System.out.println("===================================");
+    }
+
     private static void displayMenu() {
         System.out.println("\n=== CURATOR JOURNAL ===");
         System.out.println("1. Add new entry");
@@ -0,0 +1,82 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final JournalEntryValidator validator = new JournalEntryValidator(LocalDate.of(2025, 1, 1));
+
+    @Test
+    void testImportCsvWithRejectedRows() throws IOException {
+        Path input = tempDir.resolve("students.csv");
+        Path report = tempDir.resolve("errors.txt");
+        Files.write(input, List.of(
+                "Smith,John,15.01.2000,+380991234567,Main,15A,42",
+                "smith,John,15.01.2000,+380991234567,Main,15A,42",
+                "",
+                "Johnson, Mary ,20.05.2001,+380991234568,Oak Street,20/1,15",
+                "Lee,Ann,30.02.2001,+38099,Oak,15A,0",
+                "Too,Few,Fields"
+        ));
+
+        System.out.println("=== Test Import CSV With Rejected Rows ===");
+
+        CuratorJournal journal = new CuratorJournal();
+        ImportResult result = new JournalImporter(journal, validator, 2, 2).importFile(input, report);
+        List<String> errors = Files.readAllLines(report);
+
+        System.out.println("Imported: " + result.imported() + ", rejected: " + result.rejected());
+        errors.forEach(System.out::println);
+
+        assertEquals(2, result.imported());
+        assertEquals(3, result.rejected());
+        assertEquals("Smith", journal.getAllEntries().get(0).getLastName());
+        assertEquals("Mary", journal.getAllEntries().get(1).getFirstName(),
+                "Fields should be trimmed and file order preserved");
+        assertEquals(3, errors.size());
+        assertTrue(errors.get(0).startsWith("line 2: Last name: Name must start with uppercase letter"));
+        assertTrue(errors.get(1).startsWith("line 5: Birth date:"));
+        assertTrue(errors.get(1).contains("Phone:") && errors.get(1).contains("Apartment number:"),
+                "All invalid fields of a row should be reported");
+        assertTrue(errors.get(2).startsWith("line 6: Expected 7 fields but found 3"));
+
+        System.out.println("CSV import works correctly\n");
+    }
+
+    @Test
+    void testImportTsvWithHeaderInManyBatches() throws IOException {
+        Path input = tempDir.resolve("students.tsv");
+        Path report = tempDir.resolve("errors.txt");
+        StringBuilder content = new StringBuilder("last\tfirst\tbirth\tphone\tstreet\thouse\tapartment\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append("Student\tName\t01.01.2000\t+380").append(100000000 + i)
+                    .append("\tMain\t").append(1 + i % 999).append('\t').append(i == 500 ? "x" : String.valueOf(i + 1)).append('\n');
+        }
+        Files.writeString(input, content);
+
+        System.out.println("=== Test Import TSV With Header In Many Batches ===");
+
+        CuratorJournal journal = new CuratorJournal();
+        ImportResult result = new JournalImporter(journal, validator, 7, 4).importFile(input, '\t', true, report);
+
+        System.out.println("Imported: " + result.imported() + ", rejected: " + result.rejected());
+
+        assertEquals(999, result.imported());
+        assertEquals(1, result.rejected());
+        assertTrue(Files.readString(report).startsWith("line 502: Apartment number:"));
+        assertEquals("+380100000000", journal.getAllEntries().get(0).getPhone());
+        assertEquals("+380100000999", journal.getAllEntries().get(998).getPhone());
+
+        System.out.println("TSV import works correctly\n");
+    }
+}
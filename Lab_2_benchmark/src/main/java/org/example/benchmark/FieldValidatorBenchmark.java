@@ -0,0 +1,120 @@
+package org.example.benchmark;
+
+import org.example.JournalEntryValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Per-field throughput of whichever JournalEntryValidator this jar was built with (see pom.xml).
+// Each invocation validates every sample of one field, so scores are per validated value.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldValidatorBenchmark {
+    private static final int SAMPLES = 4;
+
+    private static final String[][] VALID = {
+            {"Smith", "O'Neil", "Anna-Maria", "Kovalenko"},
+            {"15.01.2000", "29.02.2004", "31.12.1999", "01.06.1985"},
+            {"+380991234567", "+380501112233", "+380671234500", "+380931000001"},
+            {"Main", "Oak Street", "Shevchenka", "Lesi Ukrainky"},
+            {"15", "15A", "123/45", "7/1B"},
+            {"1", "42", "999", "9999"}
+    };
+
+    private static final String[][] INVALID = {
+            {"smith", "Sm1th", "", "Abcdefghijklmnopqrstuvwxyz"},
+            {"15-01-2000", "31.02.2001", "01.01.1850", "aa.bb.cccc"},
+            {"0991234567", "+38099123456", "+38099123456a", ""},
+            {"main", "", "Very Long Street Name That Does Not Fit", "1st"},
+            {"A15", "15/", "1000", "15-2"},
+            {"0", "10000", "12a", ""}
+    };
+
+    @Param({"valid", "invalid"})
+    private String input;
+
+    private JournalEntryValidator validator;
+    private String[][] samples;
+
+    @Setup
+    public void setUp() {
+        validator = new JournalEntryValidator(LocalDate.of(2025, 1, 1));
+        samples = input.equals("valid") ? VALID : INVALID;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public int name() {
+        int valid = 0;
+        for (String value : samples[0]) {
+            valid += validator.validateName(value) == null ? 1 : 0;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public int birthDate() {
+        int valid = 0;
+        for (String value : samples[1]) {
+            valid += validator.validateBirthDate(value) == null ? 1 : 0;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public int phone() {
+        int valid = 0;
+        for (String value : samples[2]) {
+            valid += validator.validatePhone(value) == null ? 1 : 0;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public int street() {
+        int valid = 0;
+        for (String value : samples[3]) {
+            valid += validator.validateStreet(value) == null ? 1 : 0;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public int houseNumber() {
+        int valid = 0;
+        for (String value : samples[4]) {
+            valid += validator.validateHouseNumber(value) == null ? 1 : 0;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public int apartmentNumber() {
+        int valid = 0;
+        for (String value : samples[5]) {
+            valid += validator.validateApartmentNumber(value) == null ? 1 : 0;
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,221 @@
+package org.example;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// Compact journal storage: one primitive array per field instead of a JournalEntry object per record.
+// Names and streets are dictionary-encoded, birth dates are epoch days, phone, house and apartment
+// are packed into numbers. Values that cannot be packed losslessly fall back to the dictionary and
+// are stored as negative ids. JournalEntry objects are only built by get().
+public class ColumnarJournal {
+    private static final int NO_VALUE = Integer.MIN_VALUE;
+    private static final int HOUSE_PART_BITS = 10;
+    private static final int HOUSE_PART_MASK = (1 << HOUSE_PART_BITS) - 1;
+    private static final int MAX_HOUSE_PART = 999;
+
+    private final StringDictionary dictionary = new StringDictionary();
+    private int[] lastNames = new int[16];
+    private int[] firstNames = new int[16];
+    private int[] birthDays = new int[16];
+    private long[] phones = new long[16];
+    private int[] streets = new int[16];
+    private int[] houses = new int[16];
+    private int[] apartments = new int[16];
+    private int size;
+
+    public void addEntry(JournalEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        if (size == lastNames.length) {
+            grow();
+        }
+        lastNames[size] = encodeString(entry.getLastName());
+        firstNames[size] = encodeString(entry.getFirstName());
+        birthDays[size] = entry.getBirthDate() == null ? NO_VALUE : (int) entry.getBirthDate().toEpochDay();
+        phones[size] = encodePhone(entry.getPhone());
+        streets[size] = encodeString(entry.getStreet());
+        houses[size] = encodeHouse(entry.getHouse());
+        apartments[size] = encodeApartment(entry.getApartment());
+        size++;
+    }
+
+    public JournalEntry get(int index) {
+        checkIndex(index);
+        return new JournalEntry(getLastName(index), dictionaryValue(firstNames[index]), getBirthDate(index),
+                getPhone(index), getStreet(index), getHouse(index), getApartment(index));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getLastName(int index) {
+        checkIndex(index);
+        return dictionaryValue(lastNames[index]);
+    }
+
+    public String getStreet(int index) {
+        checkIndex(index);
+        return dictionaryValue(streets[index]);
+    }
+
+    // Allows date filtering without creating LocalDate objects, Integer.MIN_VALUE when the date is missing
+    public int getBirthEpochDay(int index) {
+        checkIndex(index);
+        return birthDays[index];
+    }
+
+    public LocalDate getBirthDate(int index) {
+        int epochDay = getBirthEpochDay(index);
+        return epochDay == NO_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    public String getPhone(int index) {
+        checkIndex(index);
+        long phone = phones[index];
+        if (phone == NO_VALUE) {
+            return null;
+        }
+        return phone < 0 ? dictionary.valueOf((int) (-phone - 1)) : "+" + phone;
+    }
+
+    public String getHouse(int index) {
+        checkIndex(index);
+        int house = houses[index];
+        if (house == NO_VALUE || house < 0) {
+            return dictionaryValue(house);
+        }
+        return decodeHouse(house);
+    }
+
+    public String getApartment(int index) {
+        checkIndex(index);
+        int apartment = apartments[index];
+        if (apartment == NO_VALUE || apartment < 0) {
+            return dictionaryValue(apartment);
+        }
+        return String.valueOf(apartment);
+    }
+
+    public int getDistinctStrings() {
+        return dictionary.size();
+    }
+
+    private int encodeString(String value) {
+        return value == null ? NO_VALUE : dictionary.idOf(value);
+    }
+
+    private String dictionaryValue(int id) {
+        return id == NO_VALUE ? null : dictionary.valueOf(id < 0 ? -id - 1 : id);
+    }
+
+    private int fallback(String value) {
+        return -dictionary.idOf(value) - 1;
+    }
+
+    // "+380991234567" is stored as the number 380991234567
+    private long encodePhone(String phone) {
+        if (phone == null) {
+            return NO_VALUE;
+        }
+        if (phone.length() < 2 || phone.length() > 19 || phone.charAt(0) != '+' || phone.charAt(1) == '0') {
+            return fallback(phone);
+        }
+        long value = 0;
+        for (int i = 1; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return fallback(phone);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // "15/2A" is stored as 15 | 2 << 10 | 'A' << 20; only forms that decode back to the same text are packed
+    private int encodeHouse(String house) {
+        if (house == null) {
+            return NO_VALUE;
+        }
+        int position = 0;
+        int number = 0;
+        while (position < house.length() && Character.isDigit(house.charAt(position))) {
+            number = number * 10 + Character.digit(house.charAt(position), 10);
+            if (number > MAX_HOUSE_PART) {
+                return fallback(house);
+            }
+            position++;
+        }
+        int fraction = 0;
+        if (position < house.length() && house.charAt(position) == '/') {
+            position++;
+            while (position < house.length() && Character.isDigit(house.charAt(position))) {
+                fraction = fraction * 10 + Character.digit(house.charAt(position), 10);
+                if (fraction > MAX_HOUSE_PART) {
+                    return fallback(house);
+                }
+                position++;
+            }
+        }
+        int letter = 0;
+        if (position == house.length() - 1 && house.charAt(position) < 128 && Character.isLetter(house.charAt(position))) {
+            letter = house.charAt(position);
+            position++;
+        }
+        if (position != house.length() || number == 0) {
+            return fallback(house);
+        }
+        int packed = number | fraction << HOUSE_PART_BITS | letter << (2 * HOUSE_PART_BITS);
+        return decodeHouse(packed).equals(house) ? packed : fallback(house);
+    }
+
+    private static String decodeHouse(int packed) {
+        int number = packed & HOUSE_PART_MASK;
+        int fraction = (packed >>> HOUSE_PART_BITS) & HOUSE_PART_MASK;
+        int letter = packed >>> (2 * HOUSE_PART_BITS);
+        StringBuilder house = new StringBuilder(8).append(number);
+        if (fraction != 0) {
+            house.append('/').append(fraction);
+        }
+        if (letter != 0) {
+            house.append((char) letter);
+        }
+        return house.toString();
+    }
+
+    private int encodeApartment(String apartment) {
+        if (apartment == null) {
+            return NO_VALUE;
+        }
+        if (apartment.isEmpty() || apartment.length() > 9 || apartment.charAt(0) == '0') {
+            return fallback(apartment);
+        }
+        int value = 0;
+        for (int i = 0; i < apartment.length(); i++) {
+            char c = apartment.charAt(i);
+            if (c < '0' || c > '9') {
+                return fallback(apartment);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private void grow() {
+        int capacity = lastNames.length * 2;
+        lastNames = Arrays.copyOf(lastNames, capacity);
+        firstNames = Arrays.copyOf(firstNames, capacity);
+        birthDays = Arrays.copyOf(birthDays, capacity);
+        phones = Arrays.copyOf(phones, capacity);
+        streets = Arrays.copyOf(streets, capacity);
+        houses = Arrays.copyOf(houses, capacity);
+        apartments = Arrays.copyOf(apartments, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
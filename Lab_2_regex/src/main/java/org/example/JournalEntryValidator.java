@@ -0,0 +1,153 @@
+package org.example;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.regex.Pattern;
+
+// Validation rules for journal fields without any console interaction.
+// Every check returns null for a valid value or the error message otherwise, so the same rules
+// serve ConsoleInputValidator and JournalImporter. Instances are immutable and thread-safe.
+// Checks take any CharSequence and match it directly, without copying it into a String.
+public class JournalEntryValidator {
+    // Global constants for validation rules
+    public static final int MAX_NAME_LENGTH = 20;
+    public static final int MAX_STREET_LENGTH = 30;
+    public static final int MIN_HOUSE_NUMBER = 1;
+    public static final int MAX_HOUSE_NUMBER = 999;
+    // Longest house and apartment text the journal file has room for; the patterns below stay well within them
+    public static final int MAX_HOUSE_LENGTH = 16;
+    public static final int MAX_APARTMENT_LENGTH = 10;
+    public static final int MIN_APARTMENT_NUMBER = 1;
+    public static final int MAX_APARTMENT_NUMBER = 9999;
+    public static final int MAX_AGE_YEARS = 100;
+    public static final String PHONE_PREFIX = "+380";
+    private static final String REQUIRED_MESSAGE = "This field is required.";
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("dd.MM.uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    // Comprehensive regular expressions for validation
+    private static final Pattern NAME_PATTERN = Pattern.compile(
+            "^[A-Z][a-zA-Z'\\-]{0," + (MAX_NAME_LENGTH - 1) + "}$"
+    );
+
+    private static final Pattern STREET_PATTERN = Pattern.compile(
+            "^[A-Z][a-zA-Z\\s'\\-]{0," + (MAX_STREET_LENGTH - 1) + "}$"
+    );
+
+    private static final Pattern PHONE_PATTERN = Pattern.compile(
+            "^\\" + PHONE_PREFIX + "\\d{9}$"
+    );
+
+    private static final String HOUSE_NUMBER = numberPattern(MIN_HOUSE_NUMBER, MAX_HOUSE_NUMBER);
+    private static final Pattern HOUSE_NUMBER_PATTERN = Pattern.compile(
+            "^(?:(?:" + HOUSE_NUMBER + ")(?:/" + HOUSE_NUMBER + ")?)(?:[A-Za-z])?$"
+    );
+
+    private static final Pattern APARTMENT_PATTERN = Pattern.compile(
+            "^(?:" + numberPattern(MIN_APARTMENT_NUMBER, MAX_APARTMENT_NUMBER) + ")$"
+    );
+
+    private static final Pattern DATE_FORMAT_PATTERN = Pattern.compile(
+            "^\\d{2}\\.\\d{2}\\.\\d{4}$"
+    );
+
+    private static final Pattern REQUIRED_FIELD_PATTERN = Pattern.compile(
+            "^.*\\S.*$"  // At least one non-whitespace character
+    );
+
+    private final LocalDate today;
+    private final LocalDate oldestDate;
+
+    public JournalEntryValidator() {
+        this(LocalDate.now());
+    }
+
+    // The reference date is fixed so results do not change while a long import is running
+    public JournalEntryValidator(LocalDate today) {
+        this.today = today;
+        this.oldestDate = today.minusYears(MAX_AGE_YEARS);
+    }
+
+    public String validateName(CharSequence input) {
+        return validatePattern(input, NAME_PATTERN,
+                "Name must start with uppercase letter and contain only letters, apostrophes and hyphens (max " + MAX_NAME_LENGTH + " characters).");
+    }
+
+    public String validateBirthDate(CharSequence input) {
+        // Check required field
+        if (!REQUIRED_FIELD_PATTERN.matcher(input).matches()) {
+            return REQUIRED_MESSAGE;
+        }
+
+        // Basic format validation with simpler regex
+        if (!DATE_FORMAT_PATTERN.matcher(input).matches()) {
+            return "Date must be in format dd.MM.yyyy (e.g., 15.01.2000).";
+        }
+
+        try {
+            // Parse with strict resolution - this will handle all date validation including leap years
+            LocalDate date = LocalDate.parse(input, DATE_FORMATTER);
+
+            // Additional validation for logical date constraints
+            if (date.isAfter(today)) {
+                return "Birth date cannot be in the future.";
+            }
+
+            if (date.isBefore(oldestDate)) {
+                return "Birth date cannot be more than " + MAX_AGE_YEARS + " years ago.";
+            }
+            return null;
+        } catch (DateTimeParseException e) {
+            return "Invalid date '" + input + "'. Please check if this date exists (consider leap years and month day limits).";
+        }
+    }
+
+    // Only for input that passed validateBirthDate
+    public LocalDate parseBirthDate(CharSequence input) {
+        return LocalDate.parse(input, DATE_FORMATTER);
+    }
+
+    public String validatePhone(CharSequence input) {
+        return validatePattern(input, PHONE_PATTERN,
+                "Phone must be exactly 13 characters in format " + PHONE_PREFIX + " followed by 9 digits.");
+    }
+
+    public String validateStreet(CharSequence input) {
+        return validatePattern(input, STREET_PATTERN,
+                "Street must start with uppercase letter and contain only letters, spaces, apostrophes and hyphens (max " + MAX_STREET_LENGTH + " characters).");
+    }
+
+    // The pattern already limits both the main number and the fraction to MIN_HOUSE_NUMBER-MAX_HOUSE_NUMBER,
+    // so no parsing is needed
+    public String validateHouseNumber(CharSequence input) {
+        return validatePattern(input, HOUSE_NUMBER_PATTERN,
+                "Invalid house number format. Valid formats: 123, 123A, 123/45, 123/45A (numbers " +
+                        MIN_HOUSE_NUMBER + "-" + MAX_HOUSE_NUMBER + ", optional letter at end).");
+    }
+
+    public String validateApartmentNumber(CharSequence input) {
+        return validatePattern(input, APARTMENT_PATTERN,
+                "Apartment number must be a number between " + MIN_APARTMENT_NUMBER + " and " + MAX_APARTMENT_NUMBER + " (no leading zero).");
+    }
+
+    // Numbers from min to max without a leading zero. A regex limits them by digit count, so the limits
+    // must be 1 and all nines (9, 99, 999, ...); other limits would need the numbers parsed.
+    private static String numberPattern(int min, int max) {
+        int digits = String.valueOf(max).length();
+        if (min != 1 || !String.valueOf(max).equals("9".repeat(digits))) {
+            throw new IllegalStateException("Number limits must be 1 and all nines, not " + min + "-" + max);
+        }
+        return "[1-9]\\d{0," + (digits - 1) + "}";
+    }
+
+    private String validatePattern(CharSequence input, Pattern pattern, String patternErrorMessage) {
+        // Check required field using regex
+        if (!REQUIRED_FIELD_PATTERN.matcher(input).matches()) {
+            return REQUIRED_MESSAGE;
+        }
+        return pattern.matcher(input).matches() ? null : patternErrorMessage;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarJournalTest {
+
+    @Test
+    void testRoundTrip() {
+        ColumnarJournal journal = new ColumnarJournal();
+        JournalEntry entry = new JournalEntry("Smith", "John",
+                LocalDate.of(2000, 1, 15), "+380991234567",
+                "Main", "15/2A", "42");
+
+        System.out.println("=== Test Round Trip ===");
+
+        journal.addEntry(entry);
+        JournalEntry restored = journal.get(0);
+
+        System.out.println("Original: " + entry);
+        System.out.println("Restored: " + restored);
+
+        assertEquals(entry, restored, "Materialized entry should equal the original");
+        assertEquals(1, journal.size());
+        assertEquals(LocalDate.of(2000, 1, 15).toEpochDay(), journal.getBirthEpochDay(0));
+
+        System.out.println("Entry restored correctly\n");
+    }
+
+    @Test
+    void testUnpackableValuesFallBackToDictionary() {
+        ColumnarJournal journal = new ColumnarJournal();
+        JournalEntry[] entries = {
+                new JournalEntry("Smith", "John", LocalDate.of(2000, 1, 15), "+380991234567", "Main", "015", "0042"),
+                new JournalEntry("Smith", "Anna", LocalDate.of(2001, 2, 1), "380991234567", "Main", "15AB", "12a"),
+                new JournalEntry("O'Neil", "Mary", null, null, null, null, null),
+                new JournalEntry("Lee", "Ann", LocalDate.of(1999, 12, 31), "+380991234568", "Oak Street", "999/999z", "9999")
+        };
+
+        System.out.println("=== Test Unpackable Values Fall Back To Dictionary ===");
+
+        for (JournalEntry entry : entries) {
+            journal.addEntry(entry);
+        }
+        for (int i = 0; i < entries.length; i++) {
+            System.out.println("Restored: " + journal.get(i).getHouse() + " / " + journal.get(i).getApartment());
+            assertEquals(entries[i], journal.get(i), "Entry " + i + " should survive encoding unchanged");
+        }
+
+        System.out.println("All values restored exactly\n");
+    }
+
+    @Test
+    void testRepeatedStringsAreStoredOnce() {
+        ColumnarJournal journal = new ColumnarJournal();
+
+        System.out.println("=== Test Repeated Strings Are Stored Once ===");
+
+        for (int i = 0; i < 1000; i++) {
+            journal.addEntry(new JournalEntry("Smith", "John",
+                    LocalDate.of(2000, 1, 1).plusDays(i), "+38099" + (1000000 + i),
+                    "Main", String.valueOf(1 + i % 999), String.valueOf(1 + i)));
+        }
+
+        System.out.println("Distinct strings: " + journal.getDistinctStrings());
+
+        assertEquals(1000, journal.size());
+        assertEquals(3, journal.getDistinctStrings(),
+                "Only last name, first name and street should be in the dictionary");
+        assertSame(journal.getStreet(0), journal.getStreet(999));
+
+        System.out.println("Dictionary encoding works correctly\n");
+    }
+
+    @Test
+    void testInvalidIndexAndNullEntry() {
+        ColumnarJournal journal = new ColumnarJournal();
+        journal.addEntry(null);
+
+        System.out.println("=== Test Invalid Index And Null Entry ===");
+
+        assertEquals(0, journal.size(), "Null entry should be ignored");
+        assertThrows(IndexOutOfBoundsException.class, () -> journal.get(0));
+
+        System.out.println("Invalid access rejected\n");
+    }
+}
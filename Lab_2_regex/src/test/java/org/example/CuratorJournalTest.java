@@ -2,6 +2,12 @@ package org.example;
 
 import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 
 class CuratorJournalTest {
@@ -98,4 +104,159 @@ class CuratorJournalTest {
 
         System.out.println("Null entry correctly ignored\n");
     }
+
+    @Test
+    void testSecondaryLookups() {
+        CuratorJournal journal = new CuratorJournal();
+
+        JournalEntry entry1 = new JournalEntry("Smith", "John",
+                LocalDate.of(2000, 1, 15), "+380991234567",
+                "Main", "15A", "42");
+        JournalEntry entry2 = new JournalEntry("Smith", "Anna",
+                LocalDate.of(2002, 3, 8), "+380991234568",
+                "Main", "20", "7");
+        JournalEntry entry3 = new JournalEntry("Johnson", "Mary",
+                LocalDate.of(2001, 3, 20), "+380991234569",
+                "Oak", "15A", "15");
+
+        journal.addEntry(entry1);
+        journal.addEntry(entry2);
+        journal.addEntry(entry3);
+
+        System.out.println("=== Test Secondary Lookups ===");
+        System.out.println("By last name 'Smith': " + journal.findByLastName("Smith").size());
+
+        assertEquals(List.of(entry1, entry2), journal.findByLastName("Smith"),
+                "Lookup by last name should return entries in insertion order");
+        assertEquals(List.of(entry3), journal.findByPhone("+380991234569"),
+                "Lookup by phone should return the matching entry");
+        assertEquals(List.of(entry1, entry2), journal.findByStreet("Main"),
+                "Lookup by street should return all entries on the street");
+        assertEquals(List.of(entry1), journal.findByAddress("Main", "15A"),
+                "Lookup by street and house should not mix up streets");
+        assertTrue(journal.findByLastName("Unknown").isEmpty(),
+                "Unknown last name should give an empty result");
+
+        System.out.println("Secondary lookups work correctly\n");
+    }
+
+    @Test
+    void testBirthDateQueries() {
+        CuratorJournal journal = new CuratorJournal();
+
+        JournalEntry january = new JournalEntry("Smith", "John",
+                LocalDate.of(2000, 1, 15), "+380991234567",
+                "Main", "15A", "42");
+        JournalEntry march2002 = new JournalEntry("Smith", "Anna",
+                LocalDate.of(2002, 3, 8), "+380991234568",
+                "Main", "20", "7");
+        JournalEntry march2001 = new JournalEntry("Johnson", "Mary",
+                LocalDate.of(2001, 3, 31), "+380991234569",
+                "Oak", "15A", "15");
+
+        journal.addEntry(january);
+        journal.addEntry(march2002);
+        journal.addEntry(march2001);
+
+        System.out.println("=== Test Birth Date Queries ===");
+
+        assertEquals(List.of(january, march2001),
+                journal.findByBirthDateBetween(LocalDate.of(2000, 1, 1), LocalDate.of(2001, 12, 31)),
+                "Date range query should return entries sorted by birth date");
+        assertEquals(List.of(march2002, march2001), journal.findByBirthdayMonth(Month.MARCH),
+                "Birthday month query should ignore the birth year");
+        assertEquals(List.of(january), journal.findByBirthdayBetween(MonthDay.of(1, 1), MonthDay.of(2, 28)),
+                "Birthday range query should include only matching days of the year");
+
+        System.out.println("Birth date queries work correctly\n");
+    }
+
+    @Test
+    void testSnapshotIsImmutableAndStable() {
+        CuratorJournal journal = new CuratorJournal();
+        JournalEntry entry = new JournalEntry("Smith", "John",
+                LocalDate.of(2000, 1, 15), "+380991234567",
+                "Main", "15A", "42");
+        journal.addEntry(entry);
+
+        System.out.println("=== Test Snapshot Is Immutable And Stable ===");
+
+        List<JournalEntry> snapshot = journal.getAllEntries();
+        journal.addEntry(new JournalEntry("Johnson", "Mary",
+                LocalDate.of(2001, 5, 20), "+380991234568",
+                "Oak", "20", "15"));
+
+        assertEquals(1, snapshot.size(),
+                "Snapshot should not see entries added after it was taken");
+        assertEquals(2, journal.getEntriesCount());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(entry),
+                "Snapshot should be read-only");
+
+        System.out.println("Snapshot stays unchanged after new entries\n");
+    }
+
+    @Test
+    void testConcurrentAddsAndReads() throws InterruptedException {
+        CuratorJournal journal = new CuratorJournal();
+        int threads = 4;
+        int perThread = 1000;
+
+        System.out.println("=== Test Concurrent Adds And Reads ===");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    journal.addEntry(new JournalEntry("Name" + thread, "First",
+                            LocalDate.of(2000, 1 + i % 12, 1), "+380" + (100000000 + thread * perThread + i),
+                            "Street" + thread, String.valueOf(1 + i % 999), "1"));
+                }
+            });
+        }
+        executor.submit(() -> {
+            for (int i = 0; i < 100; i++) {
+                List<JournalEntry> snapshot = journal.getAllEntries();
+                for (JournalEntry entry : snapshot) {
+                    assertNotNull(entry);
+                }
+            }
+        });
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        System.out.println("Final entries count: " + journal.getEntriesCount());
+
+        assertEquals(threads * perThread, journal.getEntriesCount(),
+                "No entries should be lost under concurrent adds");
+        assertEquals(perThread, journal.findByLastName("Name0").size());
+        assertEquals(threads * perThread, journal.findByBirthDateBetween(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 12, 31)).size());
+
+        System.out.println("Concurrent adds completed without lost entries\n");
+    }
+
+    @Test
+    void testLookupIsSnapshotOfManyEntriesUnderOneKey() {
+        CuratorJournal journal = new CuratorJournal();
+
+        System.out.println("=== Test Lookup Snapshot Under One Key ===");
+
+        for (int i = 0; i < 1000; i++) {
+            journal.addEntry(new JournalEntry("Smith", "First" + i,
+                    LocalDate.of(2000, 1, 15), "+38099" + String.format("%07d", i),
+                    "Main", String.valueOf(1 + i % 99), "1"));
+        }
+        List<JournalEntry> smiths = journal.findByLastName("Smith");
+        journal.addEntry(new JournalEntry("Smith", "Late",
+                LocalDate.of(2000, 1, 15), "+380990000000", "Main", "1", "1"));
+
+        assertEquals(1000, smiths.size(), "Earlier lookup should not see later entries");
+        assertEquals("First0", smiths.get(0).getFirstName());
+        assertEquals("First999", smiths.get(999).getFirstName());
+        assertThrows(UnsupportedOperationException.class, () -> smiths.add(null));
+        assertEquals(1001, journal.findByLastName("Smith").size());
+        assertEquals(1001, journal.findByStreet("Main").size());
+
+        System.out.println("Lookups return stable snapshots\n");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalEntryValidatorTest {
+
+    private final JournalEntryValidator validator = new JournalEntryValidator(LocalDate.of(2025, 1, 1));
+
+    @Test
+    void testValidValues() {
+        System.out.println("=== Test Valid Values ===");
+
+        assertNull(validator.validateName("O'Neil-Smith"));
+        assertNull(validator.validateBirthDate("29.02.2000"));
+        assertNull(validator.validatePhone("+380991234567"));
+        assertNull(validator.validateStreet("Main Street"));
+        assertNull(validator.validateHouseNumber("15/2A"));
+        assertNull(validator.validateApartmentNumber("9999"));
+        assertEquals(LocalDate.of(2000, 2, 29), validator.parseBirthDate("29.02.2000"));
+
+        System.out.println("All valid values accepted\n");
+    }
+
+    @Test
+    void testInvalidValues() {
+        System.out.println("=== Test Invalid Values ===");
+
+        assertEquals("This field is required.", validator.validateName(""));
+        assertTrue(validator.validateName("smith").startsWith("Name must start with uppercase letter"));
+        assertTrue(validator.validateBirthDate("29.02.2023").startsWith("Invalid date '29.02.2023'."));
+        assertEquals("Birth date cannot be in the future.", validator.validateBirthDate("02.01.2025"));
+        assertEquals("Birth date cannot be more than 100 years ago.", validator.validateBirthDate("01.01.1900"));
+        assertTrue(validator.validateBirthDate("1.1.2000").startsWith("Date must be in format dd.MM.yyyy"));
+        assertTrue(validator.validatePhone("+38099").startsWith("Phone must be exactly 13 characters"));
+        assertTrue(validator.validateStreet("A".repeat(31)).startsWith("Street must start with uppercase letter"));
+        assertTrue(validator.validateHouseNumber("15/").startsWith("Invalid house number format."));
+        assertTrue(validator.validateHouseNumber("1000").startsWith("Invalid house number format."));
+        assertTrue(validator.validateApartmentNumber("0").startsWith("Apartment number must be a number between 1 and 9999"));
+
+        System.out.println("All invalid values rejected with the expected messages\n");
+    }
+
+    @Test
+    void testCharSequenceInput() {
+        System.out.println("=== Test CharSequence Input ===");
+
+        CharBuffer line = CharBuffer.wrap("Smith;15.01.2000;+380991234567;15A;42");
+        assertNull(validator.validateName(line.subSequence(0, 5)));
+        assertNull(validator.validateBirthDate(line.subSequence(6, 16)));
+        assertEquals(LocalDate.of(2000, 1, 15), validator.parseBirthDate(line.subSequence(6, 16)));
+        assertNull(validator.validatePhone(line.subSequence(17, 30)));
+        assertNull(validator.validateHouseNumber(line.subSequence(31, 34)));
+        assertNull(validator.validateApartmentNumber(new StringBuilder("42")));
+        assertNotNull(validator.validateApartmentNumber(new StringBuilder("4x")));
+
+        System.out.println("Views of a larger buffer validated in place\n");
+    }
+}
@@ -0,0 +1,161 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static JournalEntry entry(int i) {
+        return new JournalEntry("Smith", "John" + i, LocalDate.of(2000, 1, 1).plusDays(i),
+                "+380991234567", "Main", (i % 999 + 1) + "A", String.valueOf(i % 9999 + 1));
+    }
+
+    @Test
+    void testEntriesSurviveReopen() throws IOException {
+        Path file = tempDir.resolve("journal.dat");
+        JournalEntry first = new JournalEntry("O'Neil", "Anna-Maria", LocalDate.of(1999, 12, 31),
+                "+380501112233", "Lesi Ukrainky", "123/45B", "9999");
+        JournalEntry second = new JournalEntry("Коваленко", "Олена", null, null, "Main", "7", null);
+
+        System.out.println("=== Test Entries Survive Reopen ===");
+        try (JournalLog log = JournalLog.open(file)) {
+            assertEquals(0, log.size(), "A new journal file should be empty");
+            log.append(first);
+            log.append(second);
+            log.append(null);
+        }
+
+        try (JournalLog log = JournalLog.open(file)) {
+            System.out.println("Reopened entries: " + log.size());
+            assertEquals(2, log.size());
+            assertEquals(first, log.get(0));
+            assertEquals(second, log.get(1), "Null fields and non-Latin text should round-trip");
+        }
+        System.out.println("Entries survived reopen\n");
+    }
+
+    @Test
+    void testAppendAfterReadRemapsSegment() throws IOException {
+        try (JournalLog log = JournalLog.open(tempDir.resolve("journal.dat"))) {
+            System.out.println("=== Test Append After Read ===");
+            log.append(entry(0));
+            assertEquals(entry(0), log.get(0));
+
+            log.appendAll(List.of(entry(1), entry(2)));
+            assertEquals(3, log.size());
+            assertEquals(entry(2), log.get(2), "Records appended after the file was mapped should be readable");
+            assertThrows(IndexOutOfBoundsException.class, () -> log.get(3));
+            System.out.println("Appended records are visible\n");
+        }
+    }
+
+    @Test
+    void testPagingAcrossSegments() throws IOException {
+        Path file = tempDir.resolve("journal.dat");
+        int count = 70_000;
+        try (JournalLog log = JournalLog.open(file)) {
+            List<JournalEntry> batch = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                batch.add(entry(i));
+                if (batch.size() == 10_000) {
+                    log.appendAll(batch);
+                    batch.clear();
+                }
+            }
+            log.appendAll(batch);
+        }
+
+        System.out.println("=== Test Paging Across Segments ===");
+        long start = System.nanoTime();
+        try (JournalLog log = JournalLog.open(file)) {
+            System.out.println("Reopened " + log.size() + " entries in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            assertEquals(count, log.size());
+
+            List<JournalEntry> page = log.readPage(65_530, 10);
+            assertEquals(10, page.size());
+            for (int i = 0; i < page.size(); i++) {
+                assertEquals(entry(65_530 + i), page.get(i), "Pages should continue across mapped segments");
+            }
+            assertEquals(5, log.readPage(count - 5, 20).size(), "The last page should be cut at the end");
+            assertTrue(log.readPage(count, 20).isEmpty());
+        }
+        System.out.println("Paging works across segments\n");
+    }
+
+    @Test
+    void testTornRecordIsDropped() throws IOException {
+        Path file = tempDir.resolve("journal.dat");
+        try (JournalLog log = JournalLog.open(file)) {
+            log.appendAll(List.of(entry(1), entry(2)));
+        }
+        // Simulates a crash in the middle of writing the third record
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[JournalLog.RECORD_SIZE / 2]));
+        }
+
+        System.out.println("=== Test Torn Record Is Dropped ===");
+        try (JournalLog log = JournalLog.open(file)) {
+            assertEquals(2, log.size(), "A half-written record should be ignored");
+            log.append(entry(3));
+        }
+        try (JournalLog log = JournalLog.open(file)) {
+            assertEquals(3, log.size());
+            assertEquals(entry(3), log.get(2), "New records should be written over the torn one");
+        }
+        System.out.println("Torn record was dropped\n");
+    }
+
+    @Test
+    void testRejectsForeignFileAndOversizedFields() throws IOException {
+        Path foreign = tempDir.resolve("students.csv");
+        Files.writeString(foreign, "Smith,John,15.01.2000,+380991234567,Main,15A,42\n");
+
+        System.out.println("=== Test Rejects Invalid Input ===");
+        assertThrows(IOException.class, () -> JournalLog.open(foreign));
+
+        try (JournalLog log = JournalLog.open(tempDir.resolve("journal.dat"))) {
+            JournalEntry tooLong = new JournalEntry("Abcdefghijklmnopqrstuvwxyz", "John",
+                    LocalDate.of(2000, 1, 15), "+380991234567", "Main", "15A", "42");
+            assertThrows(IllegalArgumentException.class, () -> log.appendAll(List.of(entry(1), tooLong)));
+            assertEquals(0, log.size(), "A batch with an invalid entry should not be written");
+        }
+        System.out.println("Invalid input rejected\n");
+    }
+
+    @Test
+    void testLongestValuesTheValidatorAcceptsFitTheSlots() throws IOException {
+        JournalEntryValidator validator = new JournalEntryValidator(LocalDate.of(2025, 1, 1));
+        String house = "1" + "A".repeat(JournalEntryValidator.MAX_HOUSE_LENGTH - 1);
+        String apartment = "0".repeat(JournalEntryValidator.MAX_APARTMENT_LENGTH - 2) + "42";
+
+        System.out.println("=== Test Longest Valid Values Fit ===");
+        try (JournalLog log = JournalLog.open(tempDir.resolve("journal.dat"))) {
+            for (String[] values : new String[][]{{house, "42"}, {"15A", apartment}}) {
+                if (validator.validateHouseNumber(values[0]) != null || validator.validateApartmentNumber(values[1]) != null) {
+                    continue;
+                }
+                JournalEntry longest = new JournalEntry("Smith", "John", LocalDate.of(2000, 1, 15),
+                        "+380991234567", "Main", values[0], values[1]);
+                log.append(longest);
+                assertEquals(longest, log.get(log.size() - 1));
+            }
+        }
+        assertNotNull(validator.validateHouseNumber(house + "A"));
+        assertNotNull(validator.validateApartmentNumber("0" + apartment));
+        System.out.println("Longest valid values fit\n");
+    }
+}
\ No newline at end of file
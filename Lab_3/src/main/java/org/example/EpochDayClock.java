@@ -0,0 +1,41 @@
+package org.example;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+// Today's date as a cached epoch day, so expiry checks compare numbers instead of calling LocalDate.now().
+// today() only reads the underlying clock's millis to notice midnight; the date itself is recomputed
+// once per day, or on tick(), which the expiry sweeper calls on every run.
+public final class EpochDayClock {
+    private static final EpochDayClock SYSTEM = new EpochDayClock(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private volatile long today;
+    private volatile long nextDayMillis;
+
+    public EpochDayClock(Clock clock) {
+        this.clock = clock;
+        tick();
+    }
+
+    // Shared clock in the system time zone, used by cards when no other clock is given
+    public static EpochDayClock system() {
+        return SYSTEM;
+    }
+
+    public long today() {
+        if (clock.millis() >= nextDayMillis) {
+            tick();
+        }
+        return today;
+    }
+
+    public void tick() {
+        LocalDate date = LocalDate.now(clock);
+        ZoneId zone = clock.getZone();
+        // today is written first so a reader that sees the new boundary also sees the new date
+        today = date.toEpochDay();
+        nextDayMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+}
@@ -121,8 +121,11 @@ class Main {
         if (isAccumulating.equalsIgnoreCase("y")) {
             double balance = getValidBalance();
             Card card = new AccumulatingCard(id, balance);
-            turnstile.issueCard(card);
-            System.out.println("Accumulating card issued: " + card);
+            if (turnstile.issueCard(card)) {
+                System.out.println("Accumulating card issued: " + card);
+            } else {
+                System.out.println("Error: Card ID " + id + " is already in use. Card was not issued.");
+            }
         } else {
             issueTripBasedCard(id, "Regular");
         }
@@ -134,7 +137,10 @@ class Main {
         LocalDate expiryDate = LocalDate.now().plusDays(validityDays);
 
         Card card = new TripBasedCard(id, type, expiryDate, trips);
-        turnstile.issueCard(card);
+        if (!turnstile.issueCard(card)) {
+            System.out.println("Error: Card ID " + id + " is already in use. Card was not issued.");
+            return;
+        }
         System.out.println("Card issued: " + card);
         System.out.println("Expiry date: " + expiryDate);
     }
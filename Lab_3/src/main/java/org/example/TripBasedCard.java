@@ -10,12 +10,12 @@ public class TripBasedCard extends Card {
 
     @Override
     public boolean isValid() {
-        return isActive && !isExpired() && hasTrips();
+        return isActive() && !isExpired() && hasTrips();
     }
 
     @Override
     public String toString() {
         return String.format("ID: %s, Type: %s, Expiration: %s, Trips remaining: %d",
-                id, type, expiryDate, tripsRemaining);
+                id, type, expiryDate, getTripsRemaining());
     }
 }
\ No newline at end of file
@@ -1,27 +1,35 @@
 package org.example;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+// Can be shared by many turnstile threads: cards live in a concurrent map, every tap is a single
+// atomic useTrip() on the card, and the counters are LongAdders that never lose updates.
 public class Turnstile {
     private final Map<String, Card> issuedCards;
-    private int totalPasses;
-    private int totalDenials;
-    private Map<String, Integer> passesByType;
-    private Map<String, Integer> denialsByType;
+    private final LongAdder totalPasses;
+    private final LongAdder totalDenials;
+    private final Map<String, LongAdder> passesByType;
+    private final Map<String, LongAdder> denialsByType;
 
     public Turnstile() {
-        this.issuedCards = new HashMap<>();
-        this.totalPasses = 0;
-        this.totalDenials = 0;
-        this.passesByType = new HashMap<>();
-        this.denialsByType = new HashMap<>();
+        this.issuedCards = new ConcurrentHashMap<>();
+        this.totalPasses = new LongAdder();
+        this.totalDenials = new LongAdder();
+        this.passesByType = new ConcurrentHashMap<>();
+        this.denialsByType = new ConcurrentHashMap<>();
     }
 
-    public void issueCard(Card card) {
-        issuedCards.put(card.getId(), card);
+    // Returns false and keeps the card already issued when the id is taken, even by a concurrent call
+    public boolean issueCard(Card card) {
+        if (issuedCards.putIfAbsent(card.getId(), card) != null) {
+            return false;
+        }
         // Initialize counters for this card type if not present
-        passesByType.putIfAbsent(card.getType(), 0);
-        denialsByType.putIfAbsent(card.getType(), 0);
+        passesByType.computeIfAbsent(card.getType(), type -> new LongAdder());
+        denialsByType.computeIfAbsent(card.getType(), type -> new LongAdder());
+        return true;
     }
 
     public boolean isCardIdExists(String id) {
@@ -48,46 +56,54 @@ public class Turnstile {
             System.out.println("Remaining validity: " + card.getRemainingValidityDays() + " days");
         }
 
-        if (!card.isValid()) {
-            System.out.println("Access DENIED!");
-            if (card.isExpired()) {
-                System.out.println("Reason: Card expired on " + card.getExpiryDate());
-            } else if (!card.hasTrips()) {
-                if (card instanceof AccumulatingCard) {
-                    System.out.println("Reason: Insufficient balance");
-                } else {
-                    System.out.println("Reason: No trips remaining");
-                }
-            } else if (!card.isActive()) {
-                System.out.println("Reason: Card deactivated");
-            }
-            recordDenial(card.getType());
-            return;
-        }
-
-        boolean success = card.useTrip();
-        if (success) {
+        // useTrip() checks validity and spends the trip atomically; the reason is only worked out on denial
+        if (card.useTrip()) {
             System.out.println("Access GRANTED!");
-            totalPasses++;
-            passesByType.put(card.getType(), passesByType.get(card.getType()) + 1);
+            totalPasses.increment();
+            counter(passesByType, card.getType()).increment();
 
             if (card instanceof AccumulatingCard) {
                 System.out.printf("Remaining balance: %.2f UAH\n", ((AccumulatingCard) card).getBalance());
             } else {
                 System.out.println("Remaining trips: " + card.getTripsRemaining());
             }
-        } else {
-            System.out.println("Access DENIED! Unknown error");
-            recordDenial(card.getType());
+            return;
+        }
+
+        System.out.println("Access DENIED!");
+        if (card.isExpired()) {
+            System.out.println("Reason: Card expired on " + card.getExpiryDate());
+        } else if (!card.hasTrips()) {
+            if (card instanceof AccumulatingCard) {
+                System.out.println("Reason: Insufficient balance");
+            } else {
+                System.out.println("Reason: No trips remaining");
+            }
+        } else if (!card.isActive()) {
+            System.out.println("Reason: Card deactivated");
         }
+        recordDenial(card.getType());
     }
 
     private void recordDenial(String type) {
-        totalDenials++;
-        denialsByType.put(type, denialsByType.getOrDefault(type, 0) + 1);
+        totalDenials.increment();
+        counter(denialsByType, type).increment();
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String type) {
+        LongAdder counter = counters.get(type);
+        return counter != null ? counter : counters.computeIfAbsent(type, t -> new LongAdder());
+    }
+
+    private static Map<String, Integer> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Integer> result = new HashMap<>();
+        counters.forEach((type, counter) -> result.put(type, counter.intValue()));
+        return result;
     }
 
     public void showStatistics() {
+        int totalPasses = getTotalPasses();
+        int totalDenials = getTotalDenials();
         System.out.println("\n=== General Statistics ===");
         System.out.println("Total passes granted: " + totalPasses);
         System.out.println("Total passes denied: " + totalDenials);
@@ -107,8 +123,8 @@ public class Turnstile {
         allTypes.addAll(denialsByType.keySet());
 
         for (String type : allTypes) {
-            int passes = passesByType.getOrDefault(type, 0);
-            int denials = denialsByType.getOrDefault(type, 0);
+            int passes = passesByType.containsKey(type) ? passesByType.get(type).intValue() : 0;
+            int denials = denialsByType.containsKey(type) ? denialsByType.get(type).intValue() : 0;
             int total = passes + denials;
 
             System.out.printf("\n%s Cards:\n", type);
@@ -124,8 +140,8 @@ public class Turnstile {
     }
 
     // Getters for testing
-    public int getTotalPasses() { return totalPasses; }
-    public int getTotalDenials() { return totalDenials; }
-    public Map<String, Integer> getPassesByType() { return new HashMap<>(passesByType); }
-    public Map<String, Integer> getDenialsByType() { return new HashMap<>(denialsByType); }
+    public int getTotalPasses() { return totalPasses.intValue(); }
+    public int getTotalDenials() { return totalDenials.intValue(); }
+    public Map<String, Integer> getPassesByType() { return snapshot(passesByType); }
+    public Map<String, Integer> getDenialsByType() { return snapshot(denialsByType); }
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package org.example;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AccumulatingCardTest {
 
@@ -44,4 +48,36 @@ public class AccumulatingCardTest {
         assertFalse(card.useTrip());
         assertEquals(5.0, card.getBalance(), 0.001);
     }
+
+    @Test
+    public void testBalanceIsExactInKopecks() {
+        AccumulatingCard card = new AccumulatingCard("ACC006", 8.1);
+        card.topUp(0.1);
+        card.topUp(0.2);
+
+        assertEquals(840, card.getBalanceKopecks());
+        assertTrue(card.useTrip());
+        assertEquals(40, card.getBalanceKopecks());
+        assertFalse(card.useTrip());
+    }
+
+    @Test
+    public void testConcurrentUseTripNeverOverdraws() throws InterruptedException {
+        AccumulatingCard card = new AccumulatingCard("ACC007", 800.0); // 100 trips
+        AtomicInteger granted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (card.useTrip()) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(100, granted.get());
+        assertEquals(0, card.getBalanceKopecks());
+    }
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class TurnstileTest {
     private Turnstile turnstile;
@@ -30,6 +33,21 @@ public class TurnstileTest {
         assertFalse(turnstile.isCardIdExists("NONEXISTENT"));
     }
 
+    @Test
+    public void testDuplicateIdDoesNotReplaceIssuedCard() {
+        Card card = new TripBasedCard("TEST003", "Student", LocalDate.now().plusDays(30), 1);
+        Card duplicate = new TripBasedCard("TEST003", "Regular", LocalDate.now().plusDays(30), 50);
+
+        assertTrue(turnstile.issueCard(card));
+        assertFalse(turnstile.issueCard(duplicate));
+
+        turnstile.validateCard("TEST003");
+        turnstile.validateCard("TEST003");
+        assertEquals(1, turnstile.getTotalPasses());
+        assertEquals(1, turnstile.getTotalDenials());
+        assertFalse(turnstile.getPassesByType().containsKey("Regular"));
+    }
+
     @Test
     public void testGetStatistics() {
         assertEquals(0, turnstile.getTotalPasses());
@@ -39,4 +57,22 @@ public class TurnstileTest {
         assertTrue(turnstile.getPassesByType().isEmpty());
         assertTrue(turnstile.getDenialsByType().isEmpty());
     }
+
+    @Test
+    public void testConcurrentValidationDoesNotLoseTrips() throws InterruptedException {
+        turnstile.issueCard(new TripBasedCard("SHARED001", "Student", LocalDate.now().plusDays(30), 50));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 100; i++) {
+            executor.submit(() -> turnstile.validateCard("SHARED001"));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Exactly the 50 available trips are spent, every other tap is denied
+        assertEquals(50, turnstile.getTotalPasses());
+        assertEquals(50, turnstile.getTotalDenials());
+        assertEquals(50, turnstile.getPassesByType().get("Student"));
+        assertEquals(50, turnstile.getDenialsByType().get("Student"));
+    }
 }
\ No newline at end of file
@@ -1,44 +1,87 @@
 package org.example;
 
+import org.example.controller.ExpirySweeper;
 import org.example.controller.TurnstileController;
+import org.example.model.CardRegistry;
+import org.example.model.HeapCardRegistry;
+import org.example.storage.TapJournal;
 import org.example.view.TurnstileView;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 
 public class Main {
+    private static final Path DATA_DIRECTORY = Path.of("turnstile-data");
+
     private final TurnstileController controller;
     private final TurnstileView view;
+    private final TapJournal journal;
 
     public Main() {
-        this.controller = new TurnstileController();
         this.view = new TurnstileView();
+        CardRegistry cards = new HeapCardRegistry();
+        this.journal = openJournal(cards);
+        this.controller = new TurnstileController(cards, journal);
+    }
+
+    // Cards from earlier runs are recovered from the journal; without it they only live until exit
+    private TapJournal openJournal(CardRegistry cards) {
+        try {
+            TapJournal opened = TapJournal.open(DATA_DIRECTORY, cards);
+            opened.startSnapshots(Duration.ofMinutes(10));
+            return opened;
+        } catch (IOException e) {
+            view.showError("Card journal cannot be opened, changes will not be saved: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            view.showError("Card journal was not closed cleanly: " + e.getMessage());
+        }
     }
 
     public void run() {
         view.showMessage("Welcome to Tram Turnstile System!");
 
-        while (true) {
-            view.showMenu();
-            String choice = view.getInput("Choose option: ");
-
-            switch (choice) {
-                case "1":
-                    handleIssueCard();
-                    break;
-                case "2":
-                    handleCheckCard();
-                    break;
-                case "3":
-                    handleShowStatistics();
-                    break;
-                case "4":
-                    handleShowStatisticsByType();
-                    break;
-                case "5":
-                    view.showMessage("Exiting program. Goodbye!");
-                    view.close();
-                    return;
-                default:
-                    view.showError("Invalid choice. Please enter a number between 1 and 5.");
+        // Expired cards are deactivated in the background while the program runs; the sweeper is
+        // stopped before the journal is closed, so it cannot write to a closed journal
+        ExpirySweeper sweeper = controller.startExpirySweeper(Duration.ofMinutes(1));
+        try {
+            while (true) {
+                view.showMenu();
+                String choice = view.getInput("Choose option: ");
+
+                switch (choice) {
+                    case "1":
+                        handleIssueCard();
+                        break;
+                    case "2":
+                        handleCheckCard();
+                        break;
+                    case "3":
+                        handleShowStatistics();
+                        break;
+                    case "4":
+                        handleShowStatisticsByType();
+                        break;
+                    case "5":
+                        view.showMessage("Exiting program. Goodbye!");
+                        return;
+                    default:
+                        view.showError("Invalid choice. Please enter a number between 1 and 5.");
+                }
             }
+        } finally {
+            sweeper.close();
+            closeJournal();
+            view.close();
         }
     }
 
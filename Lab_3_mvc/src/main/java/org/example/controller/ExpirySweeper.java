@@ -0,0 +1,84 @@
+package org.example.controller;
+
+import org.example.model.CardExpiryIndex;
+import org.example.model.CardRegistry;
+import org.example.model.EpochDayClock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Background job that advances the day clock and deactivates all cards that expired since the last run.
+// Taps do not depend on it: they compare the card's expiry day themselves. The sweep only marks expired
+// cards inactive in bulk, so they are reported as inactive everywhere without a date check.
+public class ExpirySweeper implements AutoCloseable {
+    private final EpochDayClock days;
+    private final CardExpiryIndex expiryIndex;
+    private final CardRegistry cards;
+    private ScheduledExecutorService executor;
+
+    public ExpirySweeper(EpochDayClock days, CardExpiryIndex expiryIndex, CardRegistry cards) {
+        this.days = days;
+        this.expiryIndex = expiryIndex;
+        this.cards = cards;
+    }
+
+    // Runs one sweep on the calling thread and returns the number of cards deactivated.
+    // A card that cannot be deactivated does not stop the sweep: the first failure is thrown once every
+    // expired card has been tried, with the others suppressed. Taps still deny such a card by its date.
+    public int sweep() {
+        days.tick();
+        int[] deactivated = new int[1];
+        RuntimeException[] failure = new RuntimeException[1];
+        expiryIndex.drainExpired(days.today(), id -> {
+            try {
+                if (cards.deactivate(id)) {
+                    deactivated[0]++;
+                }
+            } catch (RuntimeException e) {
+                if (failure[0] == null) {
+                    failure[0] = e;
+                } else {
+                    failure[0].addSuppressed(e);
+                }
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return deactivated[0];
+    }
+
+    public synchronized void start(Duration period) {
+        if (executor != null) {
+            throw new IllegalStateException("Expiry sweeper is already running");
+        }
+        long millis = period.toMillis();
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Sweep period must be at least one millisecond");
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "card-expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::sweepOnSchedule, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    // A failed run is logged and sweeping goes on: the next run deactivates the cards that expire by then
+    private void sweepOnSchedule() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            System.err.println("Card expiry sweep failed: " + e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.controller;
+
+// Receives every tap once it is counted and, with a journal, once a pass is on disk, on the thread that
+// validated the card; a batch is reported after its one durability wait.
+// code is the CardRegistry tap code; listeners must return quickly, they sit on the validation path.
+@FunctionalInterface
+public interface TapListener {
+    void onTap(String cardId, int code, int turnstileId);
+}
@@ -0,0 +1,208 @@
+package org.example.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+// Several TurnstileControllers in one JVM, each holding the cards whose id hashes to it. Every call is
+// routed to the card's home shard and runs there on the caller's thread, so taps on different shards
+// share no map, counter or lock. Statistics are added up over all shards when they are read.
+//
+// A card's home is fixed by its id and the shard count: shards do not rebalance, since neither the
+// registries nor the journals can give a card up. A batch of taps is split by shard, so each shard
+// handles its part as one batch and, with a journal, waits for durability once.
+public class TurnstileCluster {
+    private final TurnstileController[] shards;
+
+    // One heap-backed controller per shard
+    public TurnstileCluster(int shardCount) {
+        this(shardCount, shard -> new TurnstileController());
+    }
+
+    // newShard builds the controller for each shard index, e.g. with its own registry or journal
+    public TurnstileCluster(int shardCount, IntFunction<TurnstileController> newShard) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        this.shards = new TurnstileController[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = Objects.requireNonNull(newShard.apply(i));
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public TurnstileController getShard(int shard) {
+        return shards[shard];
+    }
+
+    // A null id goes to shard 0, which rejects it the way a single controller does
+    public int shardOf(String cardId) {
+        if (cardId == null) {
+            return 0;
+        }
+        // Spreads the String hash so that ids differing only in their last characters land on different shards
+        int h = cardId.hashCode() * 0x9E3779B9;
+        return Math.floorMod(h ^ h >>> 16, shards.length);
+    }
+
+    // Card management methods
+    public boolean issueTripBasedCard(String id, String type, int validityDays, int trips) {
+        return home(id).issueTripBasedCard(id, type, validityDays, trips);
+    }
+
+    public boolean issueAccumulatingCard(String id, double initialBalance) {
+        return home(id).issueAccumulatingCard(id, initialBalance);
+    }
+
+    public boolean topUpCard(String id, double amount) {
+        return home(id).topUpCard(id, amount);
+    }
+
+    public boolean isCardIdExists(String id) {
+        return home(id).isCardIdExists(id);
+    }
+
+    public int sweepExpiredCards() {
+        int swept = 0;
+        for (TurnstileController shard : shards) {
+            swept += shard.sweepExpiredCards();
+        }
+        return swept;
+    }
+
+    // Card validation logic
+    public TurnstileController.ValidationResult validateCard(String cardId) {
+        return validateCard(cardId, TurnstileController.DEFAULT_TURNSTILE);
+    }
+
+    public TurnstileController.ValidationResult validateCard(String cardId, int turnstileId) {
+        return home(cardId).validateCard(cardId, turnstileId);
+    }
+
+    // Same contract as TurnstileController.validateCards. The ids are grouped by shard and every shard
+    // taps its group with one validateCards call, then the codes are put back in the caller's order.
+    public int validateCards(String[] cardIds, int offset, int count, int[] results, int turnstileId) {
+        Objects.checkFromIndexSize(offset, count, cardIds.length);
+        Objects.checkFromIndexSize(0, count, results.length);
+        if (shards.length == 1) {
+            return shards[0].validateCards(cardIds, offset, count, results, turnstileId);
+        }
+
+        // Counting sort of the batch by shard: groupStart[s] is where shard s's ids begin in grouped
+        int[] shardOfTap = new int[count];
+        int[] groupStart = new int[shards.length + 1];
+        for (int i = 0; i < count; i++) {
+            shardOfTap[i] = shardOf(cardIds[offset + i]);
+            groupStart[shardOfTap[i] + 1]++;
+        }
+        for (int shard = 0; shard < shards.length; shard++) {
+            groupStart[shard + 1] += groupStart[shard];
+        }
+        String[] grouped = new String[count];
+        int[] positionOf = new int[count];
+        int[] next = Arrays.copyOf(groupStart, shards.length);
+        for (int i = 0; i < count; i++) {
+            int position = next[shardOfTap[i]]++;
+            grouped[position] = cardIds[offset + i];
+            positionOf[i] = position;
+        }
+
+        int[] groupedResults = new int[count];
+        int passes = 0;
+        for (int shard = 0; shard < shards.length; shard++) {
+            int from = groupStart[shard];
+            int size = groupStart[shard + 1] - from;
+            if (size > 0) {
+                int[] shardResults = new int[size];
+                passes += shards[shard].validateCards(grouped, from, size, shardResults, turnstileId);
+                System.arraycopy(shardResults, 0, groupedResults, from, size);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            results[i] = groupedResults[positionOf[i]];
+        }
+        return passes;
+    }
+
+    public TurnstileController.ValidationResult resultOf(String cardId, int code) {
+        return home(cardId).resultOf(cardId, code);
+    }
+
+    // Statistics methods, summed over the shards
+    public TurnstileController.Statistics getGeneralStatistics() {
+        int passes = 0;
+        int denials = 0;
+        for (TurnstileController shard : shards) {
+            TurnstileController.Statistics statistics = shard.getGeneralStatistics();
+            passes += statistics.getTotalPasses();
+            denials += statistics.getTotalDenials();
+        }
+        int totalAttempts = passes + denials;
+        double successRate = totalAttempts > 0 ? (double) passes / totalAttempts * 100 : 0;
+        return new TurnstileController.Statistics(passes, denials, totalAttempts, successRate);
+    }
+
+    public Map<String, TurnstileController.TypeStatistics> getStatisticsByType() {
+        Map<String, int[]> counts = new HashMap<>();
+        for (TurnstileController shard : shards) {
+            for (TurnstileController.TypeStatistics statistics : shard.getStatisticsByType().values()) {
+                int[] sum = counts.computeIfAbsent(statistics.getType(), type -> new int[2]);
+                sum[0] += statistics.getPasses();
+                sum[1] += statistics.getDenials();
+            }
+        }
+
+        Map<String, TurnstileController.TypeStatistics> statistics = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+            int passes = entry.getValue()[0];
+            int denials = entry.getValue()[1];
+            int total = passes + denials;
+            double successRate = total > 0 ? (double) passes / total * 100 : 0;
+            statistics.put(entry.getKey(), new TurnstileController.TypeStatistics(entry.getKey(), passes, denials, total, successRate));
+        }
+        return statistics;
+    }
+
+    public Map<String, TurnstileController.WindowStatistics> getStatisticsByType(int windowMinutes) {
+        List<Map<String, TurnstileController.WindowStatistics>> perShard = new ArrayList<>();
+        for (TurnstileController shard : shards) {
+            perShard.add(shard.getStatisticsByType(windowMinutes));
+        }
+        return merge(perShard, new HashMap<>(), windowMinutes);
+    }
+
+    // A turnstile can tap cards of every shard, so its windows are added up like the types
+    public Map<Integer, TurnstileController.WindowStatistics> getStatisticsByTurnstile(int windowMinutes) {
+        List<Map<Integer, TurnstileController.WindowStatistics>> perShard = new ArrayList<>();
+        for (TurnstileController shard : shards) {
+            perShard.add(shard.getStatisticsByTurnstile(windowMinutes));
+        }
+        return merge(perShard, new TreeMap<>(), windowMinutes);
+    }
+
+    private static <K> Map<K, TurnstileController.WindowStatistics> merge(
+            List<Map<K, TurnstileController.WindowStatistics>> perShard,
+            Map<K, TurnstileController.WindowStatistics> merged, int windowMinutes) {
+        for (Map<K, TurnstileController.WindowStatistics> statistics : perShard) {
+            for (Map.Entry<K, TurnstileController.WindowStatistics> entry : statistics.entrySet()) {
+                TurnstileController.WindowStatistics add = entry.getValue();
+                merged.merge(entry.getKey(), add, (a, b) -> new TurnstileController.WindowStatistics(
+                        a.getName(), windowMinutes, a.getCoveredMinutes(),
+                        a.getPasses() + b.getPasses(), a.getDenials() + b.getDenials()));
+            }
+        }
+        return merged;
+    }
+
+    private TurnstileController home(String cardId) {
+        return shards[shardOf(cardId)];
+    }
+}
@@ -1,99 +1,269 @@
 package org.example.controller;
 
 import org.example.model.*;
+import org.example.storage.TapJournal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Safe to call from many turnstile threads at once: every tap is a single atomic tap() on the
+// card registry, and statistics are LongAdders that never lose updates.
+// Cards are kept on the heap by default; an OffHeapCardRegistry can be passed in for large card sets.
+// Besides lifetime totals, every tap is counted in per-minute and per-hour windows by card type and
+// by turnstile, see WindowedCounter. Expiry checks read today's date from a cached EpochDayClock.
+// With a TapJournal, issues, passed taps and top-ups are logged and confirmed only once they are on disk.
+// Once the journal has failed, the controller is read-only: every issue, tap and top-up throws before it
+// changes a card. The changes whose wait failed stay in memory only and are gone after a restart.
 public class TurnstileController {
-    private final Map<String, Card> issuedCards;
-    private int totalPasses;
-    private int totalDenials;
-    private Map<String, Integer> passesByType;
-    private Map<String, Integer> denialsByType;
+    public static final int DEFAULT_TURNSTILE = 0;
+
+    private final CardRegistry issuedCards;
+    private final LongAdder totalPasses;
+    private final LongAdder totalDenials;
+    private final Map<String, TypeCounters> countersByType;
+    // Counters indexed by the registry's type id, so a tap finds them without hashing the type name
+    private volatile TypeCounters[] countersById = new TypeCounters[0];
+    private volatile WindowedCounter[] countersByTurnstile = new WindowedCounter[0];
+    private final LongSupplier clockMillis;
+    private final EpochDayClock days;
+    private final CardExpiryIndex expiryIndex;
+    private final TapJournal journal;
+    private volatile TapListener tapListener;
 
     public TurnstileController() {
-        this.issuedCards = new HashMap<>();
-        this.totalPasses = 0;
-        this.totalDenials = 0;
-        this.passesByType = new HashMap<>();
-        this.denialsByType = new HashMap<>();
+        this(new HeapCardRegistry());
+    }
+
+    public TurnstileController(CardRegistry issuedCards) {
+        this(issuedCards, System::currentTimeMillis);
+    }
+
+    public TurnstileController(CardRegistry issuedCards, LongSupplier clockMillis) {
+        this(issuedCards, clockMillis, EpochDayClock.system());
+    }
+
+    public TurnstileController(CardRegistry issuedCards, LongSupplier clockMillis, EpochDayClock days) {
+        this(issuedCards, clockMillis, days, null);
+    }
+
+    // issuedCards as recovered by TapJournal.open(), see the full constructor
+    public TurnstileController(CardRegistry issuedCards, TapJournal journal) {
+        this(issuedCards, System::currentTimeMillis, EpochDayClock.system(), journal);
+    }
+
+    // clockMillis is read once per tap or batch to place it in the statistics windows,
+    // days gives the date used for expiry, journal may be null to keep cards in memory only.
+    // Cards already in the registry are picked up for expiry sweeps and statistics.
+    public TurnstileController(CardRegistry issuedCards, LongSupplier clockMillis, EpochDayClock days, TapJournal journal) {
+        this.issuedCards = issuedCards;
+        this.clockMillis = clockMillis;
+        this.days = days;
+        this.journal = journal;
+        this.expiryIndex = new CardExpiryIndex();
+        this.totalPasses = new LongAdder();
+        this.totalDenials = new LongAdder();
+        this.countersByType = new ConcurrentHashMap<>();
+        issuedCards.forEach(card -> {
+            countersFor(card.getType());
+            if (card.getExpiryDate() != null) {
+                expiryIndex.add(card.getId(), card.getExpiryDate().toEpochDay());
+            }
+        });
     }
 
     // Card management methods
     public boolean issueTripBasedCard(String id, String type, int validityDays, int trips) {
-        if (issuedCards.containsKey(id)) {
+        LocalDate expiryDate = LocalDate.ofEpochDay(days.today() + validityDays);
+        if (!issueCard(new TripBasedCard(id, type, expiryDate, trips))) {
             return false;
         }
-
-        LocalDate expiryDate = LocalDate.now().plusDays(validityDays);
-        Card card = new TripBasedCard(id, type, expiryDate, trips);
-        issuedCards.put(id, card);
-        initializeTypeCounters(type);
+        expiryIndex.add(id, expiryDate.toEpochDay());
         return true;
     }
 
     public boolean issueAccumulatingCard(String id, double initialBalance) {
-        if (issuedCards.containsKey(id)) {
-            return false;
+        return issueCard(new AccumulatingCard(id, initialBalance));
+    }
+
+    // The registry makes the duplicate check and the insert one step when two threads issue the same id.
+    // With a journal, the registry issues the card inside logIssue(), so a card the registry refuses or
+    // cannot hold is never logged, and the issue record is logged before any tap on the card can be.
+    private boolean issueCard(Card card) {
+        checkJournal();
+        if (journal == null) {
+            if (!issuedCards.issue(card)) {
+                return false;
+            }
+        } else {
+            long sequence = journal.logIssue(card, issuedCards::issue);
+            if (sequence < 0) {
+                return false;
+            }
+            journal.awaitDurable(sequence);
         }
+        countersFor(card.getType());
+        return true;
+    }
 
-        Card card = new AccumulatingCard(id, initialBalance);
-        issuedCards.put(id, card);
-        initializeTypeCounters("Regular");
+    // Returns false when the card is unknown or is not a balance card
+    public boolean topUpCard(String id, double amount) {
+        long kopecks = Math.round(amount * 100);
+        if (kopecks <= 0) {
+            throw new IllegalArgumentException("Top-up amount must be positive: " + amount);
+        }
+        checkJournal();
+        if (!issuedCards.topUp(id, kopecks)) {
+            return false;
+        }
+        if (journal != null) {
+            journal.awaitDurable(journal.logTopUp(id, kopecks));
+        }
         return true;
     }
 
-    private void initializeTypeCounters(String type) {
-        passesByType.putIfAbsent(type, 0);
-        denialsByType.putIfAbsent(type, 0);
+    private void checkJournal() {
+        if (journal != null) {
+            journal.checkWritable();
+        }
+    }
+
+    private TypeCounters countersFor(String type) {
+        TypeCounters counters = countersByType.get(type);
+        return counters != null ? counters : countersByType.computeIfAbsent(type, t -> new TypeCounters());
     }
 
     public boolean isCardIdExists(String id) {
-        return issuedCards.containsKey(id);
+        return issuedCards.contains(id);
+    }
+
+    // Deactivates every card that has expired since the last sweep and returns how many there were
+    public int sweepExpiredCards() {
+        return new ExpirySweeper(days, expiryIndex, issuedCards).sweep();
+    }
+
+    // Runs the sweep in the background every period until the returned sweeper is closed
+    public ExpirySweeper startExpirySweeper(Duration period) {
+        ExpirySweeper sweeper = new ExpirySweeper(days, expiryIndex, issuedCards);
+        sweeper.start(period);
+        return sweeper;
+    }
+
+    // Replaces the listener told about every tap, null for none
+    public void setTapListener(TapListener listener) {
+        this.tapListener = listener;
     }
 
     // Card validation logic
     public ValidationResult validateCard(String cardId) {
-        Card card = issuedCards.get(cardId);
+        return validateCard(cardId, DEFAULT_TURNSTILE);
+    }
 
-        if (card == null) {
-            recordDenial("Unknown");
-            return new ValidationResult(false, "Card not found", null);
+    public ValidationResult validateCard(String cardId, int turnstileId) {
+        return resultOf(cardId, tap(cardId, turnstileId));
+    }
+
+    // validateCard() without building the result: returns the tap code, see CardRegistry
+    public int tap(String cardId, int turnstileId) {
+        WindowedCounter turnstile = turnstileCounter(turnstileId);
+        checkJournal();
+        // tap() checks validity and spends the trip atomically; the card is only looked up for the result
+        int code = issuedCards.tap(cardId, days.today());
+        boolean passed = CardRegistry.status(code) == CardRegistry.PASSED;
+        // Counted before the wait, so the totals and the windows agree even when the wait fails
+        if (passed) {
+            totalPasses.increment();
+        } else {
+            totalDenials.increment();
+        }
+        record(code, clockMillis.getAsLong(), turnstile);
+        if (passed && journal != null) {
+            journal.awaitDurable(journal.logTap(cardId));
+        }
+        TapListener listener = tapListener;
+        if (listener != null) {
+            listener.onTap(cardId, code, turnstileId);
         }
+        return code;
+    }
+
+    // Batch entry point for gateways: taps cardIds[offset .. offset + count) and writes one tap code per
+    // card into results[0 .. count), laid out as described in CardRegistry. Nothing is allocated per tap;
+    // resultOf() turns a code into a ValidationResult for the taps that are actually shown.
+    // Returns the number of passes in the batch.
+    public int validateCards(String[] cardIds, int offset, int count, int[] results) {
+        return validateCards(cardIds, offset, count, results, DEFAULT_TURNSTILE);
+    }
 
-        if (!card.isValid()) {
-            String reason = getInvalidationReason(card);
-            recordDenial(card.getType());
-            return new ValidationResult(false, reason, card);
+    public int validateCards(String[] cardIds, int offset, int count, int[] results, int turnstileId) {
+        Objects.checkFromIndexSize(offset, count, cardIds.length);
+        Objects.checkFromIndexSize(0, count, results.length);
+        checkJournal();
+
+        WindowedCounter turnstile = turnstileCounter(turnstileId);
+        TapListener listener = tapListener;
+        long today = days.today();
+        long now = clockMillis.getAsLong();
+        int passes = 0;
+        long sequence = 0;
+        for (int i = 0; i < count; i++) {
+            int code = issuedCards.tap(cardIds[offset + i], today);
+            results[i] = code;
+            if (CardRegistry.status(code) == CardRegistry.PASSED) {
+                passes++;
+                if (journal != null) {
+                    sequence = journal.logTap(cardIds[offset + i]);
+                }
+            }
+            record(code, now, turnstile);
+        }
+        totalPasses.add(passes);
+        totalDenials.add(count - passes);
+        // One wait covers the whole batch, the records are fsynced in order
+        if (sequence != 0) {
+            journal.awaitDurable(sequence);
+        }
+        // As in tap(), the listener only hears about passes that are on disk
+        if (listener != null) {
+            for (int i = 0; i < count; i++) {
+                listener.onTap(cardIds[offset + i], results[i], turnstileId);
+            }
         }
+        return passes;
+    }
 
-        boolean success = card.useTrip();
-        if (success) {
-            recordPass(card.getType());
-            String details = getCardDetails(card);
-            return new ValidationResult(true, "Access granted", card, details);
-        } else {
-            recordDenial(card.getType());
-            return new ValidationResult(false, "Unknown error", card);
+    // Builds the result for a tap code; the card is read as it is now and details are formatted on first use
+    public ValidationResult resultOf(String cardId, int code) {
+        int status = CardRegistry.status(code);
+        if (status == CardRegistry.NOT_FOUND) {
+            return new ValidationResult(false, "Card not found", null);
+        }
+
+        Card card = issuedCards.find(cardId);
+        if (status == CardRegistry.PASSED) {
+            return ValidationResult.granted(card);
         }
+        return new ValidationResult(false, getInvalidationReason(status, card), card);
     }
 
-    private String getInvalidationReason(Card card) {
-        if (card.isExpired()) {
-            return "Card expired on " + card.getExpiryDate();
-        } else if (!card.hasTrips()) {
-            if (card instanceof AccumulatingCard) {
+    private String getInvalidationReason(int status, Card card) {
+        switch (status) {
+            case CardRegistry.EXPIRED:
+                return "Card expired on " + card.getExpiryDate();
+            case CardRegistry.INSUFFICIENT_BALANCE:
                 return "Insufficient balance";
-            } else {
+            case CardRegistry.NO_TRIPS:
                 return "No trips remaining";
-            }
-        } else if (!card.isActive()) {
-            return "Card deactivated";
+            case CardRegistry.DEACTIVATED:
+                return "Card deactivated";
+            default:
+                return "Unknown reason";
         }
-        return "Unknown reason";
     }
 
-    private String getCardDetails(Card card) {
+    private static String getCardDetails(Card card) {
         if (card instanceof AccumulatingCard) {
             return String.format("Remaining balance: %.2f UAH", ((AccumulatingCard) card).getBalance());
         } else {
@@ -102,34 +272,83 @@ public class TurnstileController {
         }
     }
 
-    private void recordPass(String type) {
-        totalPasses++;
-        passesByType.put(type, passesByType.get(type) + 1);
+    // Per-type counters only; totals are added by the caller so a batch can add them once
+    private void record(int code, long now, WindowedCounter turnstile) {
+        int status = CardRegistry.status(code);
+        TypeCounters counters = status == CardRegistry.NOT_FOUND
+                ? countersFor("Unknown")
+                : countersOf(CardRegistry.typeId(code));
+        boolean passed = status == CardRegistry.PASSED;
+        if (passed) {
+            counters.passes.increment();
+        } else {
+            counters.denials.increment();
+        }
+        counters.window.record(now, passed);
+        turnstile.record(now, passed);
     }
 
-    private void recordDenial(String type) {
-        totalDenials++;
-        denialsByType.put(type, denialsByType.getOrDefault(type, 0) + 1);
+    // Turnstile ids are small non-negative numbers; their counters are kept in an array indexed by id
+    private WindowedCounter turnstileCounter(int turnstileId) {
+        if (turnstileId < 0) {
+            throw new IllegalArgumentException("Turnstile id cannot be negative: " + turnstileId);
+        }
+        WindowedCounter[] byId = countersByTurnstile;
+        if (turnstileId < byId.length && byId[turnstileId] != null) {
+            return byId[turnstileId];
+        }
+        return addTurnstile(turnstileId);
+    }
+
+    private synchronized WindowedCounter addTurnstile(int turnstileId) {
+        WindowedCounter[] byId = countersByTurnstile;
+        if (turnstileId < byId.length && byId[turnstileId] != null) {
+            return byId[turnstileId];
+        }
+        byId = Arrays.copyOf(byId, Math.max(byId.length, turnstileId + 1));
+        byId[turnstileId] = new WindowedCounter();
+        countersByTurnstile = byId;
+        return byId[turnstileId];
+    }
+
+    private TypeCounters countersOf(int typeId) {
+        TypeCounters[] byId = countersById;
+        if (typeId < byId.length && byId[typeId] != null) {
+            return byId[typeId];
+        }
+        return cacheCounters(typeId);
+    }
+
+    private synchronized TypeCounters cacheCounters(int typeId) {
+        TypeCounters[] byId = countersById;
+        if (typeId >= byId.length) {
+            byId = Arrays.copyOf(byId, typeId + 1);
+        } else {
+            byId = byId.clone();
+        }
+        byId[typeId] = countersFor(issuedCards.typeName(typeId));
+        countersById = byId;
+        return byId[typeId];
     }
 
     // Statistics methods
+    // Counters are read one after another, so under load the totals are a close but not atomic snapshot
     public Statistics getGeneralStatistics() {
-        int totalAttempts = totalPasses + totalDenials;
-        double successRate = totalAttempts > 0 ? (double) totalPasses / totalAttempts * 100 : 0;
+        int passes = totalPasses.intValue();
+        int denials = totalDenials.intValue();
+        int totalAttempts = passes + denials;
+        double successRate = totalAttempts > 0 ? (double) passes / totalAttempts * 100 : 0;
 
-        return new Statistics(totalPasses, totalDenials, totalAttempts, successRate);
+        return new Statistics(passes, denials, totalAttempts, successRate);
     }
 
     public Map<String, TypeStatistics> getStatisticsByType() {
         Map<String, TypeStatistics> statistics = new HashMap<>();
 
-        Set<String> allTypes = new HashSet<>();
-        allTypes.addAll(passesByType.keySet());
-        allTypes.addAll(denialsByType.keySet());
-
-        for (String type : allTypes) {
-            int passes = passesByType.getOrDefault(type, 0);
-            int denials = denialsByType.getOrDefault(type, 0);
+        for (Map.Entry<String, TypeCounters> entry : countersByType.entrySet()) {
+            String type = entry.getKey();
+            int passes = entry.getValue().passes.intValue();
+            int denials = entry.getValue().denials.intValue();
             int total = passes + denials;
             double successRate = total > 0 ? (double) passes / total * 100 : 0;
 
@@ -139,28 +358,77 @@ public class TurnstileController {
         return statistics;
     }
 
+    // Rolling statistics over the last windowMinutes, see WindowedCounter for how windows are bucketed
+    public Map<String, WindowStatistics> getStatisticsByType(int windowMinutes) {
+        long now = clockMillis.getAsLong();
+        Map<String, WindowStatistics> statistics = new HashMap<>();
+        for (Map.Entry<String, TypeCounters> entry : countersByType.entrySet()) {
+            long[] counts = entry.getValue().window.lastMinutes(now, windowMinutes);
+            statistics.put(entry.getKey(), new WindowStatistics(entry.getKey(), windowMinutes,
+                    WindowedCounter.coveredMinutes(now, windowMinutes), counts[0], counts[1]));
+        }
+        return statistics;
+    }
+
+    public Map<Integer, WindowStatistics> getStatisticsByTurnstile(int windowMinutes) {
+        long now = clockMillis.getAsLong();
+        Map<Integer, WindowStatistics> statistics = new TreeMap<>();
+        WindowedCounter[] byId = countersByTurnstile;
+        for (int id = 0; id < byId.length; id++) {
+            if (byId[id] != null) {
+                long[] counts = byId[id].lastMinutes(now, windowMinutes);
+                statistics.put(id, new WindowStatistics("Turnstile " + id, windowMinutes,
+                        WindowedCounter.coveredMinutes(now, windowMinutes), counts[0], counts[1]));
+            }
+        }
+        return statistics;
+    }
+
+    private static final class TypeCounters {
+        private final LongAdder passes = new LongAdder();
+        private final LongAdder denials = new LongAdder();
+        private final WindowedCounter window = new WindowedCounter();
+    }
+
     // Data transfer objects for communication with View
     public static class ValidationResult {
         private final boolean success;
         private final String message;
         private final Card card;
-        private final String details;
+        private final boolean lazyDetails;
+        private String details;
 
         public ValidationResult(boolean success, String message, Card card) {
             this(success, message, card, null);
         }
 
         public ValidationResult(boolean success, String message, Card card, String details) {
+            this(success, message, card, details, false);
+        }
+
+        private ValidationResult(boolean success, String message, Card card, String details, boolean lazyDetails) {
             this.success = success;
             this.message = message;
             this.card = card;
             this.details = details;
+            this.lazyDetails = lazyDetails;
+        }
+
+        // Remaining trips or balance are only formatted if the view asks for them
+        static ValidationResult granted(Card card) {
+            return new ValidationResult(true, "Access granted", card, null, true);
         }
 
         public boolean isSuccess() { return success; }
         public String getMessage() { return message; }
         public Card getCard() { return card; }
-        public String getDetails() { return details; }
+
+        public String getDetails() {
+            if (details == null && lazyDetails) {
+                details = getCardDetails(card);
+            }
+            return details;
+        }
     }
 
     public static class Statistics {
@@ -203,4 +471,41 @@ public class TurnstileController {
         public int getTotalAttempts() { return totalAttempts; }
         public double getSuccessRate() { return successRate; }
     }
+
+    public static class WindowStatistics {
+        private final String name;
+        private final int windowMinutes;
+        private final int coveredMinutes;
+        private final long passes;
+        private final long denials;
+
+        public WindowStatistics(String name, int windowMinutes, long passes, long denials) {
+            this(name, windowMinutes, windowMinutes, passes, denials);
+        }
+
+        // coveredMinutes is the span the counts really come from, see WindowedCounter.coveredMinutes()
+        public WindowStatistics(String name, int windowMinutes, int coveredMinutes, long passes, long denials) {
+            this.name = name;
+            this.windowMinutes = windowMinutes;
+            this.coveredMinutes = coveredMinutes;
+            this.passes = passes;
+            this.denials = denials;
+        }
+
+        public String getName() { return name; }
+        public int getWindowMinutes() { return windowMinutes; }
+        public int getCoveredMinutes() { return coveredMinutes; }
+        public long getPasses() { return passes; }
+        public long getDenials() { return denials; }
+        public long getTotalAttempts() { return passes + denials; }
+
+        public double getSuccessRate() {
+            long total = getTotalAttempts();
+            return total > 0 ? (double) passes / total * 100 : 0;
+        }
+
+        public double getAttemptsPerMinute() {
+            return (double) getTotalAttempts() / coveredMinutes;
+        }
+    }
 }
\ No newline at end of file
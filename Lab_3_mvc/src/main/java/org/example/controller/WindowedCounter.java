@@ -0,0 +1,93 @@
+package org.example.controller;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Passes and denials in two rings of time buckets: the last 60 minutes and the last 24 hours.
+// Recording increments LongAdders in the current buckets and never blocks; a bucket is replaced
+// by a fresh one when its period comes round again, so a window query sums at most 60 buckets
+// no matter how many taps were recorded. Taps racing with that replacement may be dropped.
+public class WindowedCounter {
+    public static final int MINUTES = 60;
+    public static final int HOURS = 24;
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long HOUR_MILLIS = 60 * MINUTE_MILLIS;
+
+    private final AtomicReferenceArray<Bucket> minutes = new AtomicReferenceArray<>(MINUTES);
+    private final AtomicReferenceArray<Bucket> hours = new AtomicReferenceArray<>(HOURS);
+
+    public void record(long nowMillis, boolean passed) {
+        bucket(minutes, nowMillis / MINUTE_MILLIS).add(passed);
+        bucket(hours, nowMillis / HOUR_MILLIS).add(passed);
+    }
+
+    // Counts for the current minute and the minutes before it, up to 60.
+    // Longer windows are answered from whole hours, including the current one, up to 24 hours.
+    public long[] lastMinutes(long nowMillis, int window) {
+        checkWindow(window);
+        if (window <= MINUTES) {
+            return sum(minutes, nowMillis / MINUTE_MILLIS, window);
+        }
+        return sum(hours, nowMillis / HOUR_MILLIS, (window + MINUTES - 1) / MINUTES);
+    }
+
+    // The minutes lastMinutes() actually counts: the window itself up to 60 minutes; for longer windows
+    // the whole hours before the current one plus the minutes of the current hour so far, which can be
+    // more or fewer than asked for, e.g. 91 for a 61-minute window half way through an hour
+    public static int coveredMinutes(long nowMillis, int window) {
+        checkWindow(window);
+        if (window <= MINUTES) {
+            return window;
+        }
+        int hours = (window + MINUTES - 1) / MINUTES;
+        return (hours - 1) * MINUTES + (int) (Math.floorMod(nowMillis, HOUR_MILLIS) / MINUTE_MILLIS) + 1;
+    }
+
+    private static void checkWindow(int window) {
+        if (window <= 0 || window > HOURS * MINUTES) {
+            throw new IllegalArgumentException("Window must be between 1 and " + HOURS * MINUTES + " minutes");
+        }
+    }
+
+    private static Bucket bucket(AtomicReferenceArray<Bucket> ring, long period) {
+        int index = (int) (period % ring.length());
+        Bucket bucket = ring.get(index);
+        // A clock that stepped back keeps counting into the newer bucket
+        while (bucket == null || bucket.period < period) {
+            Bucket fresh = new Bucket(period);
+            if (ring.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+            bucket = ring.get(index);
+        }
+        return bucket;
+    }
+
+    // Returns {passes, denials} over the periods (current - count, current]
+    private static long[] sum(AtomicReferenceArray<Bucket> ring, long current, int count) {
+        long passes = 0;
+        long denials = 0;
+        for (int i = 0; i < count; i++) {
+            Bucket bucket = ring.get((int) ((current - i) % ring.length()));
+            if (bucket != null && bucket.period == current - i) {
+                passes += bucket.passes.sum();
+                denials += bucket.denials.sum();
+            }
+        }
+        return new long[]{passes, denials};
+    }
+
+    private static final class Bucket {
+        private final long period;
+        private final LongAdder passes = new LongAdder();
+        private final LongAdder denials = new LongAdder();
+
+        Bucket(long period) {
+            this.period = period;
+        }
+
+        void add(boolean passed) {
+            (passed ? passes : denials).increment();
+        }
+    }
+}
@@ -1,39 +1,47 @@
 package org.example.model;
 
+// The balance is held in whole kopecks by Card, so taps and top-ups are exact and lock-free
 public class AccumulatingCard extends Card {
-    private double balance;
-    private static final double TRIP_COST = 8.0;
+    public static final long TRIP_COST_KOPECKS = 800;
 
     public AccumulatingCard(String id, double initialBalance) {
-        super(id, "Regular", null, 0);
-        this.balance = initialBalance;
+        super(id, "Regular", null, toKopecks(initialBalance));
     }
 
     public double getBalance() {
-        return balance;
+        return getBalanceKopecks() / 100.0;
+    }
+
+    public long getBalanceKopecks() {
+        return units();
     }
 
     public void topUp(double amount) {
         if (amount > 0) {
-            balance += amount;
+            add(toKopecks(amount));
+        }
+    }
+
+    public void topUpKopecks(long kopecks) {
+        if (kopecks > 0) {
+            add(kopecks);
         }
     }
 
+    // Trips are not counted on a balance card
     @Override
-    public boolean isValid() {
-        return isActive && balance >= TRIP_COST;
+    public int getTripsRemaining() {
+        return 0;
     }
 
     @Override
-    public boolean hasTrips() {
-        return balance >= TRIP_COST;
+    public boolean isValid() {
+        return isActive() && hasTrips();
     }
 
     @Override
-    public boolean useTrip() {
-        if (!isValid()) return false;
-        balance -= TRIP_COST;
-        return true;
+    protected long tripCost() {
+        return TRIP_COST_KOPECKS;
     }
 
     @Override
@@ -44,6 +52,10 @@ public class AccumulatingCard extends Card {
     @Override
     public String toString() {
         return String.format("AccumulatingCard{id='%s', balance=%.2f, isActive=%s}",
-                id, balance, isActive);
+                id, getBalance(), isActive());
+    }
+
+    private static long toKopecks(double amount) {
+        return Math.round(amount * 100);
     }
 }
\ No newline at end of file
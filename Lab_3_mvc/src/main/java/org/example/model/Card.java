@@ -1,61 +1,114 @@
 package org.example.model;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 
 public class Card {
+    // The whole mutable state is one long: the remaining units (trips, or kopecks for AccumulatingCard)
+    // shifted left by one, with the lowest bit set once the card is deactivated. Every change is a CAS
+    // on that word, so a tap checks activity and spends in one step and never takes a lock.
+    private static final long INACTIVE = 1L;
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Card.class, "state", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     protected final String id;
     protected final String type;
     protected LocalDate expiryDate;
-    protected int tripsRemaining;
-    protected boolean isActive;
     protected final LocalDate issueDate;
+    // Expiry as an epoch day so the checks on every tap compare two numbers
+    private final long expiryEpochDay;
+    private volatile long state;
 
     public Card(String id, String type, LocalDate expiryDate, int trips) {
+        this(id, type, expiryDate, (long) trips);
+    }
+
+    protected Card(String id, String type, LocalDate expiryDate, long units) {
         this.id = id;
         this.type = type;
         this.expiryDate = expiryDate;
-        this.tripsRemaining = trips;
-        this.isActive = true;
+        this.expiryEpochDay = expiryDate == null ? Long.MAX_VALUE : expiryDate.toEpochDay();
+        this.state = units << 1;
         this.issueDate = LocalDate.now();
     }
 
     public String getId() { return id; }
     public String getType() { return type; }
     public LocalDate getExpiryDate() { return expiryDate; }
-    public int getTripsRemaining() { return tripsRemaining; }
-    public boolean isActive() { return isActive; }
+    public int getTripsRemaining() { return (int) units(); }
+    public boolean isActive() { return (state & INACTIVE) == 0; }
     public LocalDate getIssueDate() { return issueDate; }
 
     public boolean isValid() {
-        return isActive && !isExpired() && hasTrips();
+        return isActive() && !isExpired() && hasTrips();
     }
 
     public boolean isExpired() {
-        return LocalDate.now().isAfter(expiryDate);
+        return isExpiredOn(EpochDayClock.system().today());
+    }
+
+    public boolean isExpiredOn(long today) {
+        return today > expiryEpochDay;
     }
 
     public boolean hasTrips() {
-        return tripsRemaining > 0;
+        return units() >= tripCost();
     }
 
     public boolean useTrip() {
-        if (!isValid()) return false;
-        tripsRemaining--;
-        return true;
+        return useTrip(EpochDayClock.system().today());
+    }
+
+    // today is an epoch day, normally from an EpochDayClock shared by the caller
+    public boolean useTrip(long today) {
+        if (isExpiredOn(today)) return false;
+        return spend(tripCost());
     }
 
     public void deactivate() {
-        this.isActive = false;
+        STATE.getAndBitwiseOr(this, INACTIVE);
     }
 
     public long getRemainingValidityDays() {
-        return ChronoUnit.DAYS.between(LocalDate.now(), expiryDate);
+        return expiryEpochDay - EpochDayClock.system().today();
+    }
+
+    // Units one trip takes from the card
+    protected long tripCost() {
+        return 1;
+    }
+
+    protected final long units() {
+        return state >> 1;
+    }
+
+    // Takes amount units if the card is active and holds enough; a lost race only costs a retry
+    protected final boolean spend(long amount) {
+        long current;
+        do {
+            current = state;
+            if ((current & INACTIVE) != 0 || (current >> 1) < amount) {
+                return false;
+            }
+        } while (!STATE.compareAndSet(this, current, current - (amount << 1)));
+        return true;
+    }
+
+    protected final void add(long amount) {
+        STATE.getAndAdd(this, amount << 1);
     }
 
     @Override
     public String toString() {
         return String.format("Card{id='%s', type='%s', expiryDate=%s, tripsRemaining=%d, isActive=%s}",
-                id, type, expiryDate, tripsRemaining, isActive);
+                id, type, expiryDate, getTripsRemaining(), isActive());
     }
 }
\ No newline at end of file
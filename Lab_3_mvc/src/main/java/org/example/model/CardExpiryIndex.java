@@ -0,0 +1,52 @@
+package org.example.model;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+// Card ids ordered by expiry day, so the cards that have expired are found without scanning every card.
+// Balance cards never expire and are not added.
+public class CardExpiryIndex {
+    private final ConcurrentNavigableMap<Long, Queue<String>> idsByDay = new ConcurrentSkipListMap<>();
+
+    // A drain may take the day's queue off the map while the id is being added to it. Then the id has
+    // either been polled by that drain already, or it is taken back here and added to a new queue.
+    public void add(String id, long expiryEpochDay) {
+        while (true) {
+            Queue<String> ids = idsByDay.computeIfAbsent(expiryEpochDay, day -> new ConcurrentLinkedQueue<>());
+            ids.add(id);
+            if (idsByDay.get(expiryEpochDay) == ids || !ids.remove(id)) {
+                return;
+            }
+        }
+    }
+
+    // Removes every card whose expiry day is before today and passes its id to action; returns how many.
+    // Each id is passed exactly once, also when it is added for an already-past day during a drain:
+    // it is then passed by this drain or by the next one.
+    public int drainExpired(long today, Consumer<String> action) {
+        int drained = 0;
+        Map.Entry<Long, Queue<String>> oldest;
+        while ((oldest = idsByDay.firstEntry()) != null && oldest.getKey() < today) {
+            if (idsByDay.remove(oldest.getKey(), oldest.getValue())) {
+                String id;
+                while ((id = oldest.getValue().poll()) != null) {
+                    action.accept(id);
+                    drained++;
+                }
+            }
+        }
+        return drained;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Queue<String> ids : idsByDay.values()) {
+            size += ids.size();
+        }
+        return size;
+    }
+}
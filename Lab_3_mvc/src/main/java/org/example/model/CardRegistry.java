@@ -0,0 +1,51 @@
+package org.example.model;
+
+import java.util.function.Consumer;
+
+// Storage of issued cards behind TurnstileController.
+// tap() is the hot path: it spends one trip and returns a primitive code instead of objects,
+// the status in the low byte and the card type id above it (see status() and typeId()).
+public interface CardRegistry {
+    int PASSED = 0;
+    int NOT_FOUND = 1;
+    int EXPIRED = 2;
+    int NO_TRIPS = 3;
+    int INSUFFICIENT_BALANCE = 4;
+    int DEACTIVATED = 5;
+
+    // Returns false when a card with the same id is already registered
+    boolean issue(Card card);
+
+    boolean contains(String id);
+
+    // today is the current date as an epoch day; implementations must be safe for concurrent taps
+    int tap(String id, long today);
+
+    // Returns false when the card is unknown
+    boolean deactivate(String id);
+
+    // Adds kopecks to a balance card; returns false when the card is unknown or counts trips
+    boolean topUp(String id, long kopecks);
+
+    // The card with its current state, or null when it is unknown
+    Card find(String id);
+
+    String typeName(int typeId);
+
+    // Visits every card as it is now, in no particular order
+    void forEach(Consumer<Card> action);
+
+    int size();
+
+    static int status(int code) {
+        return code & 0xFF;
+    }
+
+    static int typeId(int code) {
+        return code >>> 8;
+    }
+
+    static int code(int status, int typeId) {
+        return status | typeId << 8;
+    }
+}
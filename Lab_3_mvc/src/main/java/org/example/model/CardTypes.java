@@ -0,0 +1,39 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Small dense ids for card type names, so registries can report a type without a String per tap.
+// Lookups are lock-free, new types are added under a lock.
+class CardTypes {
+    static final int MAX_TYPES = 256;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[0];
+
+    int idOf(String type) {
+        Integer id = ids.get(type);
+        return id != null ? id : register(type);
+    }
+
+    String nameOf(int id) {
+        String[] current = names;
+        return id < current.length ? current[id] : null;
+    }
+
+    private synchronized int register(String type) {
+        Integer id = ids.get(type);
+        if (id != null) {
+            return id;
+        }
+        if (names.length == MAX_TYPES) {
+            throw new IllegalStateException("Too many card types, at most " + MAX_TYPES + " are supported");
+        }
+        String[] grown = Arrays.copyOf(names, names.length + 1);
+        grown[names.length] = type;
+        names = grown;
+        ids.put(type, names.length - 1);
+        return names.length - 1;
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Cards as objects in a concurrent map
+public class HeapCardRegistry implements CardRegistry {
+    private final Map<String, Card> cards = new ConcurrentHashMap<>();
+    private final CardTypes types = new CardTypes();
+
+    @Override
+    public boolean issue(Card card) {
+        // The type gets its id before the card becomes visible to taps
+        types.idOf(card.getType());
+        return cards.putIfAbsent(card.getId(), card) == null;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return id != null && cards.containsKey(id);
+    }
+
+    @Override
+    public int tap(String id, long today) {
+        Card card = card(id);
+        if (card == null) {
+            return NOT_FOUND;
+        }
+
+        int typeId = types.idOf(card.getType());
+        if (card.useTrip(today)) {
+            return CardRegistry.code(PASSED, typeId);
+        }
+        // Same order of reasons the controller has always reported
+        if (card.isExpiredOn(today)) {
+            return CardRegistry.code(EXPIRED, typeId);
+        } else if (!card.hasTrips()) {
+            return CardRegistry.code(card instanceof AccumulatingCard ? INSUFFICIENT_BALANCE : NO_TRIPS, typeId);
+        } else if (!card.isActive()) {
+            return CardRegistry.code(DEACTIVATED, typeId);
+        }
+        // A top-up raced with this tap; the card had no trips when it was checked
+        return CardRegistry.code(card instanceof AccumulatingCard ? INSUFFICIENT_BALANCE : NO_TRIPS, typeId);
+    }
+
+    @Override
+    public boolean deactivate(String id) {
+        Card card = card(id);
+        if (card == null) {
+            return false;
+        }
+        card.deactivate();
+        return true;
+    }
+
+    @Override
+    public boolean topUp(String id, long kopecks) {
+        Card card = card(id);
+        if (!(card instanceof AccumulatingCard)) {
+            return false;
+        }
+        ((AccumulatingCard) card).topUpKopecks(kopecks);
+        return true;
+    }
+
+    @Override
+    public Card find(String id) {
+        return card(id);
+    }
+
+    @Override
+    public String typeName(int typeId) {
+        return types.nameOf(typeId);
+    }
+
+    @Override
+    public void forEach(Consumer<Card> action) {
+        cards.values().forEach(action);
+    }
+
+    @Override
+    public int size() {
+        return cards.size();
+    }
+
+    // A null id is an unknown card, as in OffHeapCardRegistry
+    private Card card(String id) {
+        return id == null ? null : cards.get(id);
+    }
+}
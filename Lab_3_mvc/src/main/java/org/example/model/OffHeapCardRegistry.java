@@ -0,0 +1,292 @@
+package org.example.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+// Card records in fixed-width slots of direct (off-heap) memory, found by open addressing with
+// linear probing on the card id hash. A tap reads and CASes the slot in place, so it allocates
+// nothing and the cards add no objects for the garbage collector to trace.
+// The capacity is fixed when the registry is created; cards are never removed.
+// Issuing is serialized, taps and lookups are lock-free: a slot becomes visible to them only
+// when its hash is published, after the rest of the record has been written.
+public class OffHeapCardRegistry implements CardRegistry {
+    // Slot layout, 64 bytes so a slot never straddles two cache lines:
+    //   0  long  state: remaining trips or kopecks shifted left by one, lowest bit = deactivated
+    //   8  int   expiry epoch day, NO_EXPIRY for balance cards and for trip cards without an expiry date
+    //   12 int   id hash, 0 while the slot is empty
+    //   16 byte  kind, 17 byte type id, 18 byte id length, 20.. id as one byte per char
+    public static final int SLOT_SIZE = 64;
+    public static final int MAX_ID_LENGTH = SLOT_SIZE - 20;
+    private static final int STATE = 0;
+    private static final int EXPIRY = 8;
+    private static final int HASH = 12;
+    private static final int KIND = 16;
+    private static final int TYPE = 17;
+    private static final int ID_LENGTH = 18;
+    private static final int ID = 20;
+
+    private static final byte TRIP_BASED = 1;
+    private static final byte ACCUMULATING = 2;
+    private static final int NO_EXPIRY = Integer.MAX_VALUE;
+    private static final long INACTIVE = 1L;
+
+    // Keeps each direct buffer at 1 GB, well below the 2 GB limit of a ByteBuffer
+    private static final int SEGMENT_SHIFT = 24;
+    private static final int SEGMENT_SLOTS = 1 << SEGMENT_SHIFT;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer[] segments;
+    private final int mask;
+    private final int capacity;
+    private final CardTypes types = new CardTypes();
+    private volatile int size;
+
+    // Reserves room for capacity cards, keeping the table at most three quarters full
+    public OffHeapCardRegistry(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        long slots = Long.highestOneBit(Math.max(2, capacity * 4L / 3 + 1) - 1) << 1;
+        if (slots > 1L << 30) {
+            throw new IllegalArgumentException("Capacity is too large: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = (int) slots - 1;
+        this.segments = new ByteBuffer[(int) ((slots + SEGMENT_SLOTS - 1) / SEGMENT_SLOTS)];
+        for (int i = 0; i < segments.length; i++) {
+            int segmentSlots = (int) Math.min(SEGMENT_SLOTS, slots - (long) i * SEGMENT_SLOTS);
+            segments[i] = ByteBuffer.allocateDirect(segmentSlots * SLOT_SIZE).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    // Ids longer than MAX_ID_LENGTH or with characters outside Latin-1 cannot be stored
+    @Override
+    public synchronized boolean issue(Card card) {
+        String id = card.getId();
+        checkId(id);
+        if (slotOf(id) >= 0) {
+            return false;
+        }
+        if (size == capacity) {
+            throw new IllegalStateException("Card registry is full (" + capacity + " cards)");
+        }
+
+        int hash = hash(id);
+        int slot = hash & mask;
+        while ((int) INTS.getAcquire(segment(slot), offset(slot) + HASH) != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        ByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        long units;
+        int expiry;
+        byte kind;
+        if (card instanceof AccumulatingCard) {
+            units = ((AccumulatingCard) card).getBalanceKopecks();
+            expiry = NO_EXPIRY;
+            kind = ACCUMULATING;
+        } else {
+            units = card.getTripsRemaining();
+            // Like Card, a trip card without an expiry date never expires
+            expiry = card.getExpiryDate() == null ? NO_EXPIRY : (int) card.getExpiryDate().toEpochDay();
+            kind = TRIP_BASED;
+        }
+        segment.putLong(offset + STATE, units << 1 | (card.isActive() ? 0 : INACTIVE));
+        segment.putInt(offset + EXPIRY, expiry);
+        segment.put(offset + KIND, kind);
+        segment.put(offset + TYPE, (byte) types.idOf(card.getType()));
+        segment.put(offset + ID_LENGTH, (byte) id.length());
+        for (int i = 0; i < id.length(); i++) {
+            segment.put(offset + ID + i, (byte) id.charAt(i));
+        }
+        INTS.setRelease(segment, offset + HASH, hash);
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return slotOf(id) >= 0;
+    }
+
+    @Override
+    public int tap(String id, long today) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return NOT_FOUND;
+        }
+
+        ByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        int typeId = segment.get(offset + TYPE) & 0xFF;
+        if (segment.getInt(offset + EXPIRY) < today) {
+            return CardRegistry.code(EXPIRED, typeId);
+        }
+        boolean accumulating = segment.get(offset + KIND) == ACCUMULATING;
+        long cost = accumulating ? AccumulatingCard.TRIP_COST_KOPECKS : 1;
+        long current;
+        do {
+            current = (long) LONGS.getVolatile(segment, offset + STATE);
+            if ((current >> 1) < cost) {
+                return CardRegistry.code(accumulating ? INSUFFICIENT_BALANCE : NO_TRIPS, typeId);
+            }
+            if ((current & INACTIVE) != 0) {
+                return CardRegistry.code(DEACTIVATED, typeId);
+            }
+        } while (!LONGS.compareAndSet(segment, offset + STATE, current, current - (cost << 1)));
+        return CardRegistry.code(PASSED, typeId);
+    }
+
+    // Builds a detached copy of the card as it is now; later taps do not change it
+    @Override
+    public Card find(String id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return null;
+        }
+
+        return cardAt(segment(slot), offset(slot), id);
+    }
+
+    private Card cardAt(ByteBuffer segment, int offset, String id) {
+        long state = (long) LONGS.getVolatile(segment, offset + STATE);
+        Card card;
+        if (segment.get(offset + KIND) == ACCUMULATING) {
+            card = new AccumulatingCard(id, (state >> 1) / 100.0);
+        } else {
+            String type = types.nameOf(segment.get(offset + TYPE) & 0xFF);
+            int expiry = segment.getInt(offset + EXPIRY);
+            LocalDate expiryDate = expiry == NO_EXPIRY ? null : LocalDate.ofEpochDay(expiry);
+            card = new TripBasedCard(id, type, expiryDate, (int) (state >> 1));
+        }
+        if ((state & INACTIVE) != 0) {
+            card.deactivate();
+        }
+        return card;
+    }
+
+    @Override
+    public boolean deactivate(String id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return false;
+        }
+        LONGS.getAndBitwiseOr(segment(slot), offset(slot) + STATE, INACTIVE);
+        return true;
+    }
+
+    @Override
+    public boolean topUp(String id, long kopecks) {
+        int slot = slotOf(id);
+        if (slot < 0 || segment(slot).get(offset(slot) + KIND) != ACCUMULATING) {
+            return false;
+        }
+        if (kopecks > 0) {
+            // The deactivated bit is below the shifted balance, so adding leaves it untouched
+            LONGS.getAndAdd(segment(slot), offset(slot) + STATE, kopecks << 1);
+        }
+        return true;
+    }
+
+    // Walks the whole slot table and builds a detached copy of each card, see find()
+    @Override
+    public void forEach(Consumer<Card> action) {
+        for (int slot = 0; slot <= mask; slot++) {
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            if ((int) INTS.getAcquire(segment, offset + HASH) == 0) {
+                continue;
+            }
+            char[] id = new char[segment.get(offset + ID_LENGTH) & 0xFF];
+            for (int i = 0; i < id.length; i++) {
+                id[i] = (char) (segment.get(offset + ID + i) & 0xFF);
+            }
+            action.accept(cardAt(segment, offset, new String(id)));
+        }
+    }
+
+    @Override
+    public String typeName(int typeId) {
+        return types.nameOf(typeId);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Direct memory reserved for the slot table, independent of how many cards are issued
+    public long getOffHeapBytes() {
+        return ((long) mask + 1) * SLOT_SIZE;
+    }
+
+    // Probes from the home slot until the id or an empty slot is found; -1 when the id is unknown
+    private int slotOf(String id) {
+        if (id == null || id.isEmpty() || id.length() > MAX_ID_LENGTH) {
+            return -1;
+        }
+        int hash = hash(id);
+        int slot = hash & mask;
+        while (true) {
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            int slotHash = (int) INTS.getAcquire(segment, offset + HASH);
+            if (slotHash == 0) {
+                return -1;
+            }
+            if (slotHash == hash && idEquals(segment, offset, id)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static boolean idEquals(ByteBuffer segment, int offset, String id) {
+        if ((segment.get(offset + ID_LENGTH) & 0xFF) != id.length()) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if ((segment.get(offset + ID + i) & 0xFF) != id.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void checkId(String id) {
+        if (id == null || id.isEmpty() || id.length() > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Card id must have 1 to " + MAX_ID_LENGTH + " characters");
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (id.charAt(i) > 0xFF) {
+                throw new IllegalArgumentException("Card id can only contain Latin-1 characters: " + id);
+            }
+        }
+    }
+
+    // Spreads the String hash so that similar ids do not cluster, never returns 0 (the empty marker)
+    private static int hash(String id) {
+        int h = id.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        return h == 0 ? 1 : h;
+    }
+
+    private ByteBuffer segment(int slot) {
+        return segments[slot >>> SEGMENT_SHIFT];
+    }
+
+    private static int offset(int slot) {
+        return (slot & (SEGMENT_SLOTS - 1)) * SLOT_SIZE;
+    }
+}
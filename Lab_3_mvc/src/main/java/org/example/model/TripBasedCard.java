@@ -10,12 +10,12 @@ public class TripBasedCard extends Card {
 
     @Override
     public boolean isValid() {
-        return isActive && !isExpired() && hasTrips();
+        return isActive() && !isExpired() && hasTrips();
     }
 
     @Override
     public String toString() {
         return String.format("TripBasedCard{id='%s', type='%s', expiryDate=%s, tripsRemaining=%d, isActive=%s}",
-                id, type, expiryDate, tripsRemaining, isActive);
+                id, type, expiryDate, getTripsRemaining(), isActive());
     }
 }
\ No newline at end of file
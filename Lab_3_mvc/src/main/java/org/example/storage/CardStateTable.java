@@ -0,0 +1,170 @@
+package org.example.storage;
+
+import org.example.model.AccumulatingCard;
+import org.example.model.Card;
+import org.example.model.CardRegistry;
+import org.example.model.TripBasedCard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+// Card states rebuilt from a snapshot and the journal records written after it.
+// Taps and top-ups are applied as plain deltas without any checks: the journal may hold them
+// in a different order than they happened in memory, and deltas give the same result in any order.
+class CardStateTable {
+    private static final int SNAPSHOT_MAGIC = 0x54415053; // "TAPS"
+    private static final int SNAPSHOT_VERSION = 1;
+    static final byte TRIP_BASED = 1;
+    static final byte ACCUMULATING = 2;
+
+    private final Map<String, CardState> cards = new LinkedHashMap<>();
+
+    int size() {
+        return cards.size();
+    }
+
+    // Applies one journal record, see TapJournal for the layout
+    void apply(ByteBuffer record) {
+        byte type = record.get();
+        String id = TapJournal.getString(record);
+        switch (type) {
+            case TapJournal.ISSUE -> {
+                byte kind = record.get();
+                String cardType = TapJournal.getString(record);
+                long expiryDay = record.getLong();
+                long units = record.getLong();
+                boolean active = record.get() != 0;
+                cards.putIfAbsent(id, new CardState(kind, cardType, expiryDay, units, active));
+            }
+            case TapJournal.TAP -> {
+                CardState card = cards.get(id);
+                if (card != null) {
+                    card.units -= card.kind == ACCUMULATING ? AccumulatingCard.TRIP_COST_KOPECKS : 1;
+                }
+            }
+            case TapJournal.TOP_UP -> {
+                long kopecks = record.getLong();
+                CardState card = cards.get(id);
+                if (card != null) {
+                    card.units += kopecks;
+                }
+            }
+            default -> throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    // Issues every card into an empty registry; fails when the registry is too small to hold them all
+    void issueAll(CardRegistry registry) throws IOException {
+        for (Map.Entry<String, CardState> entry : cards.entrySet()) {
+            CardState state = entry.getValue();
+            Card card;
+            if (state.kind == ACCUMULATING) {
+                card = new AccumulatingCard(entry.getKey(), state.units / 100.0);
+            } else {
+                LocalDate expiryDate = state.expiryDay == Long.MAX_VALUE ? null : LocalDate.ofEpochDay(state.expiryDay);
+                card = new TripBasedCard(entry.getKey(), state.type, expiryDate, (int) state.units);
+            }
+            if (!state.active) {
+                card.deactivate();
+            }
+            try {
+                registry.issue(card);
+            } catch (IllegalArgumentException e) {
+                // Only journals written before issues were logged after the registry took the card hold such ids
+            } catch (IllegalStateException e) {
+                throw new IOException("Card registry cannot hold the " + cards.size() + " recovered cards: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    static CardStateTable read(Path file) throws IOException {
+        CardStateTable table = new CardStateTable();
+        CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(file)) {
+            BufferedInputStream buffered = new BufferedInputStream(in);
+            DataInputStream data = new DataInputStream(new CheckedInputStream(buffered, crc));
+            if (data.readInt() != SNAPSHOT_MAGIC || data.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a card snapshot: " + file);
+            }
+            int count = data.readInt();
+            for (int i = 0; i < count; i++) {
+                String id = data.readUTF();
+                byte kind = data.readByte();
+                String type = data.readUTF();
+                long expiryDay = data.readLong();
+                long units = data.readLong();
+                boolean active = data.readBoolean();
+                table.cards.put(id, new CardState(kind, type, expiryDay, units, active));
+            }
+            long expected = crc.getValue();
+            if (new DataInputStream(buffered).readLong() != expected) {
+                throw new IOException("Card snapshot is corrupt: " + file);
+            }
+        }
+        return table;
+    }
+
+    // Writes to a temporary file first, so a crash never leaves a half-written snapshot in place, and
+    // fsyncs the directory after the move, so the new name is not lost in a crash either
+    void write(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            BufferedOutputStream buffered = new BufferedOutputStream(out);
+            DataOutputStream data = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+            data.writeInt(SNAPSHOT_MAGIC);
+            data.writeInt(SNAPSHOT_VERSION);
+            data.writeInt(cards.size());
+            for (Map.Entry<String, CardState> entry : cards.entrySet()) {
+                CardState state = entry.getValue();
+                data.writeUTF(entry.getKey());
+                data.writeByte(state.kind);
+                data.writeUTF(state.type);
+                data.writeLong(state.expiryDay);
+                data.writeLong(state.units);
+                data.writeBoolean(state.active);
+            }
+            data.flush();
+            new DataOutputStream(buffered).writeLong(crc.getValue());
+            buffered.flush();
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        TapJournal.forceDirectory(file.getParent());
+    }
+
+    private static final class CardState {
+        private final byte kind;
+        private final String type;
+        private final long expiryDay;
+        private long units;
+        private final boolean active;
+
+        CardState(byte kind, String type, long expiryDay, long units, boolean active) {
+            this.kind = kind;
+            this.type = type;
+            this.expiryDay = expiryDay;
+            this.units = units;
+            this.active = active;
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package org.example.storage;
+
+import org.example.model.AccumulatingCard;
+import org.example.model.Card;
+import org.example.model.CardRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+// Write-ahead log of card issues, passed taps and top-ups, kept in a directory next to compact snapshots.
+// Appending only copies the record into a memory buffer; one flusher thread writes and fsyncs whatever
+// has piled up since its previous fsync, so all the taps that arrive during one fsync share the next one
+// (group commit). Callers that need the record on disk wait for it with awaitDurable().
+//
+// The directory holds segments wal-<n>.log and at most one snapshot-<n>.bin with the state of all
+// segments below n. snapshot() starts a new segment and folds the closed ones into a new snapshot
+// without touching the live registry, so taps go on while it runs.
+// force() on a file does not make its name durable, so the directory itself is fsynced after a segment is
+// created and after a snapshot is moved into place, before anything that depends on them is relied on.
+//
+// Record layout: int payload length, int CRC32 of the payload, then the payload:
+//   byte record type, id as short length + UTF-16 chars, and for
+//   ISSUE:  byte kind, type as short length + chars, long expiry epoch day (Long.MAX_VALUE for none),
+//           long trips or kopecks, byte active
+//   TAP:    nothing more, one trip or one trip's fare is spent
+//   TOP_UP: long kopecks
+public class TapJournal implements AutoCloseable {
+    static final byte ISSUE = 1;
+    static final byte TAP = 2;
+    static final byte TOP_UP = 3;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasPending = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final CRC32 crc = new CRC32();
+    private final Thread flusher;
+
+    // Guarded by lock; the flusher owns writing and channel while flushing is set
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer writing = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private FileChannel channel;
+    private long segment;
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean flushing;
+    // Also read without the lock by checkWritable()
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private ScheduledExecutorService snapshots;
+
+    private TapJournal(Path directory, long segment) throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        this.channel = openSegment(segment);
+        forceDirectory(directory);
+        this.flusher = new Thread(this::flushLoop, "tap-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Rebuilds the cards in the directory into registry, which should be empty, and opens a new
+    // segment for appends. A record torn by a crash at the end of a segment is cut off.
+    public static TapJournal open(Path directory, CardRegistry registry) throws IOException {
+        Files.createDirectories(directory);
+        long snapshot = latest(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        CardStateTable state = snapshot < 0
+                ? new CardStateTable()
+                : CardStateTable.read(file(directory, SNAPSHOT_PREFIX, snapshot, SNAPSHOT_SUFFIX));
+
+        long next = Math.max(snapshot, 0);
+        for (long number : numbers(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (number >= snapshot) {
+                replay(file(directory, SEGMENT_PREFIX, number, SEGMENT_SUFFIX), state);
+                next = number + 1;
+            }
+        }
+        state.issueAll(registry);
+        return new TapJournal(directory, next);
+    }
+
+    // Appending methods return the sequence number of the record for awaitDurable().
+    // The issue record is encoded from the card as it is before issuer runs, and issuer runs under the
+    // journal lock, so no tap on the new card can be logged ahead of its issue. When issuer returns false
+    // or throws, e.g. because the registry is full, the record is dropped and -1 is returned or the
+    // exception passed on: only cards that were really issued are ever logged.
+    public long logIssue(Card card, Predicate<Card> issuer) {
+        boolean accumulating = card instanceof AccumulatingCard;
+        lock.lock();
+        try {
+            int start = beginRecord(ISSUE, card.getId(), 2 * card.getType().length() + 20);
+            pending.put(accumulating ? CardStateTable.ACCUMULATING : CardStateTable.TRIP_BASED);
+            putString(pending, card.getType());
+            LocalDate expiryDate = card.getExpiryDate();
+            pending.putLong(accumulating || expiryDate == null ? Long.MAX_VALUE : expiryDate.toEpochDay());
+            pending.putLong(accumulating ? ((AccumulatingCard) card).getBalanceKopecks() : card.getTripsRemaining());
+            pending.put((byte) (card.isActive() ? 1 : 0));
+            boolean issued = false;
+            try {
+                issued = issuer.test(card);
+            } finally {
+                if (!issued) {
+                    pending.position(start);
+                }
+            }
+            return issued ? endRecord(start) : -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long logTap(String id) {
+        lock.lock();
+        try {
+            return endRecord(beginRecord(TAP, id, 0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long logTopUp(String id, long kopecks) {
+        lock.lock();
+        try {
+            int start = beginRecord(TOP_UP, id, 8);
+            pending.putLong(kopecks);
+            return endRecord(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Blocks until the record with this sequence number, and every one before it, has been fsynced
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Tap journal cannot be written", failure);
+                }
+                if (closed && !flushing && pending.position() == 0) {
+                    throw new IllegalStateException("Tap journal is closed");
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Throws when nothing more can be logged, because the flusher has failed or the journal is closed.
+    // Callers check before they change any card, so after a failure no change is made that cannot be logged.
+    public void checkWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Tap journal cannot be written", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Tap journal is closed");
+        }
+    }
+
+    // Starts a new segment and folds the previous snapshot and all closed segments into a new one
+    public synchronized void snapshot() throws IOException {
+        long last = rotate();
+        long previous = latest(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        CardStateTable state = previous < 0
+                ? new CardStateTable()
+                : CardStateTable.read(file(directory, SNAPSHOT_PREFIX, previous, SNAPSHOT_SUFFIX));
+        List<Long> folded = new ArrayList<>();
+        for (long number : numbers(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (number >= previous && number <= last) {
+                replay(file(directory, SEGMENT_PREFIX, number, SEGMENT_SUFFIX), state);
+                folded.add(number);
+            }
+        }
+        state.write(file(directory, SNAPSHOT_PREFIX, last + 1, SNAPSHOT_SUFFIX));
+
+        // The new snapshot is in place and its directory entry is on disk, so what it replaces can go
+        if (previous >= 0) {
+            Files.deleteIfExists(file(directory, SNAPSHOT_PREFIX, previous, SNAPSHOT_SUFFIX));
+        }
+        for (long number : folded) {
+            Files.deleteIfExists(file(directory, SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        }
+    }
+
+    // Takes a snapshot every period on a background thread until the journal is closed
+    public synchronized void startSnapshots(Duration period) {
+        if (snapshots != null) {
+            throw new IllegalStateException("Snapshots are already scheduled");
+        }
+        snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tap-journal-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = period.toMillis();
+        snapshots.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException e) {
+                // The segments are still there; the next run will try again
+                System.err.println("Tap journal snapshot failed: " + e.getMessage());
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    // Flushes what has been appended, then stops the flusher and closes the segment
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService scheduled;
+        synchronized (this) {
+            scheduled = snapshots;
+        }
+        if (scheduled != null) {
+            scheduled.shutdownNow();
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            hasPending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target;
+            ByteBuffer batch;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    hasPending.awaitUninterruptibly();
+                }
+                if (pending.position() == 0) {
+                    return;
+                }
+                batch = pending;
+                pending = writing;
+                writing = batch;
+                target = appendedSequence;
+                flushing = true;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            batch.clear();
+
+            lock.lock();
+            try {
+                flushing = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSequence = target;
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    // Waits until everything appended so far is on disk and switches appends to the next segment.
+    // Returns the number of the segment that was closed.
+    // Only snapshot() rotates, so segment does not change before the lock is taken. The next segment is
+    // created and the directory fsynced outside the lock, but before any record can be written to it.
+    private long rotate() throws IOException {
+        long last = segment;
+        FileChannel next = openSegment(last + 1);
+        boolean switched = false;
+        try {
+            forceDirectory(directory);
+            lock.lock();
+            try {
+                while (flushing || pending.position() > 0) {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    flushed.awaitUninterruptibly();
+                }
+                if (closed) {
+                    throw new IllegalStateException("Tap journal is closed");
+                }
+                channel.close();
+                channel = next;
+                segment = last + 1;
+                switched = true;
+                return last;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            if (!switched) {
+                next.close();
+            }
+        }
+    }
+
+    // Called with lock held; leaves room for the header and writes the type and id
+    private int beginRecord(byte type, String id, int extra) {
+        if (closed) {
+            throw new IllegalStateException("Tap journal is closed");
+        }
+        ensureCapacity(HEADER_SIZE + 3 + 2 * id.length() + extra);
+        int start = pending.position();
+        pending.position(start + HEADER_SIZE);
+        pending.put(type);
+        putString(pending, id);
+        return start;
+    }
+
+    private long endRecord(int start) {
+        int length = pending.position() - start - HEADER_SIZE;
+        crc.reset();
+        crc.update(pending.array(), start + HEADER_SIZE, length);
+        pending.putInt(start, length);
+        pending.putInt(start + 4, (int) crc.getValue());
+        hasPending.signal();
+        return ++appendedSequence;
+    }
+
+    private void ensureCapacity(int size) {
+        if (pending.remaining() < size) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + size));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(file(directory, SEGMENT_PREFIX, number, SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // Makes the files created, renamed or deleted in the directory durable. Windows cannot open a
+    // directory as a channel, and its file system journals directory changes anyway.
+    static void forceDirectory(Path directory) throws IOException {
+        if (WINDOWS) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    // Applies every intact record of a segment and truncates it after the last one
+    private static void replay(Path segmentFile, CardStateTable state) throws IOException {
+        try (FileChannel in = FileChannel.open(segmentFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal segment is too large: " + segmentFile);
+            }
+            ByteBuffer data = ByteBuffer.allocate((int) size);
+            while (data.hasRemaining() && in.read(data) >= 0) {
+                // keep reading
+            }
+            data.flip();
+
+            CRC32 crc = new CRC32();
+            int valid = 0;
+            while (data.remaining() >= HEADER_SIZE) {
+                int length = data.getInt(valid);
+                int checksum = data.getInt(valid + 4);
+                if (length <= 0 || length > data.limit() - valid - HEADER_SIZE) {
+                    break;
+                }
+                crc.reset();
+                crc.update(data.array(), valid + HEADER_SIZE, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                state.apply(data.slice(valid + HEADER_SIZE, length));
+                valid += HEADER_SIZE + length;
+                data.position(valid);
+            }
+            if (valid < size) {
+                in.truncate(valid);
+                in.force(true);
+            }
+        }
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        buffer.putShort((short) value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer.putChar(value.charAt(i));
+        }
+    }
+
+    static String getString(ByteBuffer buffer) {
+        char[] chars = new char[buffer.getShort() & 0xFFFF];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+
+    private static Path file(Path directory, String prefix, long number, String suffix) {
+        return directory.resolve(prefix + number + suffix);
+    }
+
+    private static long latest(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> numbers = numbers(directory, prefix, suffix);
+        return numbers.isEmpty() ? -1 : numbers.get(numbers.size() - 1);
+    }
+
+    // File numbers in ascending order
+    private static List<Long> numbers(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path path : files) {
+                String name = path.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.view;
+
+import org.example.controller.TapListener;
+import org.example.controller.TurnstileController;
+import org.example.model.CardRegistry;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Prints validation results on its own thread, so a slow console never holds up the turnstiles.
+// A tap only puts its card id and tap code into a bounded ring; the renderer thread takes them out in
+// batches, builds the results with TurnstileController.resultOf() and prints each batch in one write.
+// When the ring is full the tap is not shown but counted, and a summary line takes the place of the
+// missing results. Details such as the remaining trips are read when the result is rendered.
+//
+// The ring is a bounded multi-producer queue: a producer claims a position by CAS on the tail and
+// publishes the slot through its sequence number, so offering never blocks or allocates.
+public class AsyncResultRenderer implements TapListener, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 4096;
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final TurnstileController controller;
+    private final PrintStream out;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final String[] cardIds;
+    private final int[] codes;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong droppedPasses = new AtomicLong();
+    private final AtomicLong droppedDenials = new AtomicLong();
+    private final StringBuilder text = new StringBuilder();
+    private long head;
+    private Thread renderer;
+    private volatile boolean running;
+
+    public AsyncResultRenderer(TurnstileController controller, PrintStream out) {
+        this(controller, out, DEFAULT_CAPACITY);
+    }
+
+    // capacity is rounded up to a power of two
+    public AsyncResultRenderer(TurnstileController controller, PrintStream out, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.controller = controller;
+        this.out = out;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.cardIds = new String[size];
+        this.codes = new int[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    // Starts the renderer thread and makes this the controller's tap listener
+    public synchronized AsyncResultRenderer start() {
+        if (renderer != null) {
+            throw new IllegalStateException("Renderer is already started");
+        }
+        running = true;
+        renderer = new Thread(this::renderLoop, "turnstile-renderer");
+        renderer.setDaemon(true);
+        renderer.start();
+        controller.setTapListener(this);
+        return this;
+    }
+
+    @Override
+    public void onTap(String cardId, int code, int turnstileId) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long sequence = sequences.getAcquire(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    cardIds[slot] = cardId;
+                    codes[slot] = code;
+                    sequences.setRelease(slot, position + 1);
+                    return;
+                }
+                position = tail.get();
+            } else if (sequence < position) {
+                // The slot still holds a result from one lap ago: the ring is full
+                if (CardRegistry.status(code) == CardRegistry.PASSED) {
+                    droppedPasses.incrementAndGet();
+                } else {
+                    droppedDenials.incrementAndGet();
+                }
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // Stops listening, prints everything still queued and stops the renderer thread
+    @Override
+    public synchronized void close() {
+        controller.setTapListener(null);
+        if (renderer == null) {
+            renderBatches();
+            return;
+        }
+        running = false;
+        LockSupport.unpark(renderer);
+        try {
+            renderer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        renderer = null;
+    }
+
+    private void renderLoop() {
+        while (running) {
+            if (renderBatches() == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+        renderBatches();
+    }
+
+    // Renders until the ring is empty; only the renderer thread (or close() without one) gets here
+    private int renderBatches() {
+        int rendered = 0;
+        int batch;
+        do {
+            batch = renderBatch();
+            rendered += batch;
+        } while (batch > 0);
+        return rendered;
+    }
+
+    private int renderBatch() {
+        text.setLength(0);
+        int count = 0;
+        while (count < BATCH_SIZE) {
+            int slot = (int) head & mask;
+            if (sequences.getAcquire(slot) != head + 1) {
+                break;
+            }
+            String cardId = cardIds[slot];
+            int code = codes[slot];
+            cardIds[slot] = null;
+            sequences.setRelease(slot, head + mask + 1);
+            head++;
+            count++;
+            TurnstileView.appendValidationResult(text, controller.resultOf(cardId, code));
+        }
+        appendDropped();
+        if (text.length() > 0) {
+            out.print(text);
+            out.flush();
+        }
+        return count;
+    }
+
+    private void appendDropped() {
+        long passes = droppedPasses.getAndSet(0);
+        long denials = droppedDenials.getAndSet(0);
+        if (passes + denials > 0) {
+            text.append(String.format("... %d results not shown (%d granted, %d denied)%n",
+                    passes + denials, passes, denials));
+        }
+    }
+}
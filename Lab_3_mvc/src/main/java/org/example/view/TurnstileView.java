@@ -23,13 +23,20 @@ public class TurnstileView {
     }
 
     public void showValidationResult(TurnstileController.ValidationResult result) {
+        StringBuilder text = new StringBuilder();
+        appendValidationResult(text, result);
+        System.out.print(text);
+    }
+
+    // The lines showValidationResult prints, shared with AsyncResultRenderer
+    static void appendValidationResult(StringBuilder text, TurnstileController.ValidationResult result) {
         if (result.isSuccess()) {
-            showMessage(result.getMessage());
+            text.append(result.getMessage()).append(System.lineSeparator());
             if (result.getDetails() != null) {
-                showCardDetails(result.getDetails());
+                text.append(result.getDetails()).append(System.lineSeparator());
             }
         } else {
-            showError(result.getMessage());
+            text.append("Error: ").append(result.getMessage()).append(System.lineSeparator());
         }
     }
 
@@ -0,0 +1,171 @@
+package org.example.controller;
+
+import org.example.model.CardRegistry;
+import org.example.model.HeapCardRegistry;
+import org.example.model.OffHeapCardRegistry;
+import org.example.storage.TapJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class TurnstileClusterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testCardsLiveOnTheirHomeShard() {
+        TurnstileCluster cluster = new TurnstileCluster(4);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(cluster.issueTripBasedCard("CARD" + i, "Regular", 30, 5));
+        }
+        assertFalse(cluster.issueAccumulatingCard("CARD7", 10.0));
+
+        for (int i = 0; i < 100; i++) {
+            String id = "CARD" + i;
+            int home = cluster.shardOf(id);
+            assertTrue(cluster.getShard(home).isCardIdExists(id));
+            assertFalse(cluster.getShard((home + 1) % 4).isCardIdExists(id));
+        }
+        int total = 0;
+        for (int shard = 0; shard < 4; shard++) {
+            int count = 0;
+            for (int i = 0; i < 100; i++) {
+                count += cluster.getShard(shard).isCardIdExists("CARD" + i) ? 1 : 0;
+            }
+            assertTrue(count > 0, "every shard should get some cards");
+            total += count;
+        }
+        assertEquals(100, total);
+    }
+
+    @Test
+    public void testValidationAndStatisticsAcrossShards() {
+        TurnstileCluster cluster = new TurnstileCluster(3, shard -> new TurnstileController(new OffHeapCardRegistry(64)));
+        cluster.issueTripBasedCard("TRIP001", "Student", 30, 1);
+        cluster.issueTripBasedCard("TRIP002", "Student", 30, 1);
+        cluster.issueAccumulatingCard("ACC001", 8.0);
+
+        assertTrue(cluster.validateCard("TRIP001").isSuccess());
+        assertFalse(cluster.validateCard("TRIP001").isSuccess());
+        int[] results = new int[3];
+        assertEquals(2, cluster.validateCards(new String[]{"TRIP002", "ACC001", "MISSING"}, 0, 3, results, 1));
+        assertEquals("Card not found", cluster.resultOf("MISSING", results[2]).getMessage());
+        assertTrue(cluster.topUpCard("ACC001", 8.0));
+        assertTrue(cluster.validateCard("ACC001", 1).isSuccess());
+
+        TurnstileController.Statistics totals = cluster.getGeneralStatistics();
+        assertEquals(4, totals.getTotalPasses());
+        assertEquals(2, totals.getTotalDenials());
+
+        Map<String, TurnstileController.TypeStatistics> byType = cluster.getStatisticsByType();
+        assertEquals(2, byType.get("Student").getPasses());
+        assertEquals(1, byType.get("Student").getDenials());
+        assertEquals(2, byType.get("Regular").getPasses());
+
+        assertEquals(3, cluster.getStatisticsByType(5).get("Student").getTotalAttempts());
+        Map<Integer, TurnstileController.WindowStatistics> byTurnstile = cluster.getStatisticsByTurnstile(5);
+        assertEquals(2, byTurnstile.get(TurnstileController.DEFAULT_TURNSTILE).getTotalAttempts());
+        assertEquals(4, byTurnstile.get(1).getTotalAttempts());
+    }
+
+    @Test
+    public void testBatchKeepsCallerOrderAcrossShards() {
+        TurnstileCluster cluster = new TurnstileCluster(4);
+        String[] ids = new String[40];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i % 5 == 0 ? "MISSING" + i : "CARD" + i;
+            if (i % 5 != 0) {
+                cluster.issueTripBasedCard(ids[i], "Regular", 30, i % 2);
+            }
+        }
+
+        int[] results = new int[ids.length - 2];
+        int passes = cluster.validateCards(ids, 2, ids.length - 2, results, 1);
+        int expected = 0;
+        for (int i = 2; i < ids.length; i++) {
+            boolean pass = i % 5 != 0 && i % 2 == 1;
+            expected += pass ? 1 : 0;
+            assertEquals(pass, cluster.resultOf(ids[i], results[i - 2]).isSuccess(), ids[i]);
+        }
+        assertEquals(expected, passes);
+    }
+
+    @Test
+    public void testJournaledBatchIsRecoveredOnEveryShard() throws IOException {
+        int shards = 3;
+        TapJournal[] journals = new TapJournal[shards];
+        CardRegistry[] registries = new CardRegistry[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            registries[shard] = new HeapCardRegistry();
+            journals[shard] = TapJournal.open(directory.resolve("shard-" + shard), registries[shard]);
+        }
+        String[] ids = new String[30];
+        try {
+            TurnstileCluster cluster = new TurnstileCluster(shards, shard -> new TurnstileController(registries[shard], journals[shard]));
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = "CARD" + i;
+                cluster.issueTripBasedCard(ids[i], "Regular", 30, 3);
+            }
+            assertEquals(ids.length, cluster.validateCards(ids, 0, ids.length, new int[ids.length], 1));
+        } finally {
+            for (TapJournal journal : journals) {
+                journal.close();
+            }
+        }
+
+        TurnstileCluster recovered = new TurnstileCluster(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            CardRegistry registry = new HeapCardRegistry();
+            TapJournal.open(directory.resolve("shard-" + shard), registry).close();
+            registry.forEach(card -> assertEquals(2, card.getTripsRemaining()));
+            for (String id : ids) {
+                assertEquals(recovered.shardOf(id) == shard, registry.contains(id), id);
+            }
+        }
+    }
+
+    @Test
+    public void testNullCardIsRejectedLikeOnOneController() {
+        TurnstileCluster cluster = new TurnstileCluster(4);
+        TurnstileController single = new TurnstileController();
+
+        assertEquals(single.validateCard(null).isSuccess(), cluster.validateCard(null).isSuccess());
+        assertFalse(cluster.validateCard(null).isSuccess());
+        assertFalse(cluster.isCardIdExists(null));
+        int[] results = new int[1];
+        assertEquals(0, cluster.validateCards(new String[]{null}, 0, 1, results, 1));
+    }
+
+    @Test
+    public void testConcurrentTapsOnManyShards() throws InterruptedException {
+        TurnstileCluster cluster = new TurnstileCluster(4);
+        int cards = 64;
+        int threads = 8;
+        for (int i = 0; i < cards; i++) {
+            cluster.issueTripBasedCard("CARD" + i, "Regular", 30, threads * 10);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int turnstile = t;
+            executor.submit(() -> {
+                for (int round = 0; round < 10; round++) {
+                    for (int i = 0; i < cards; i++) {
+                        cluster.validateCard("CARD" + i, turnstile);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(cards * threads * 10, cluster.getGeneralStatistics().getTotalPasses());
+        assertFalse(cluster.validateCard("CARD0").isSuccess());
+    }
+}
@@ -3,8 +3,24 @@ package org.example.controller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import org.example.model.CardExpiryIndex;
+import org.example.model.CardRegistry;
+import org.example.model.EpochDayClock;
+import org.example.model.HeapCardRegistry;
+import org.example.model.OffHeapCardRegistry;
+import org.example.model.TripBasedCard;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class TurnstileControllerTest {
     private TurnstileController controller;
@@ -229,4 +245,242 @@ public class TurnstileControllerTest {
         assertEquals(10, typeStats.getTotalAttempts());
         assertEquals(80.0, typeStats.getSuccessRate(), 0.001);
     }
+
+    @Test
+    public void testConcurrentValidationDoesNotLoseUpdates() throws InterruptedException {
+        controller.issueTripBasedCard("SHARED001", "Student", 30, 1000);
+        controller.issueAccumulatingCard("SHARED002", 800.0); // 100 trips
+
+        int threads = 8;
+        int tapsPerThread = 500;
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < tapsPerThread; i++) {
+                    String id = i % 2 == 0 ? "SHARED001" : "SHARED002";
+                    if (controller.validateCard(id).isSuccess()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // 2000 taps on each card: every trip is spent exactly once and no counter update is lost
+        assertEquals(1100, granted.get());
+        TurnstileController.Statistics stats = controller.getGeneralStatistics();
+        assertEquals(1100, stats.getTotalPasses());
+        assertEquals(2900, stats.getTotalDenials());
+
+        Map<String, TurnstileController.TypeStatistics> byType = controller.getStatisticsByType();
+        assertEquals(1000, byType.get("Student").getPasses());
+        assertEquals(1000, byType.get("Student").getDenials());
+        assertEquals(100, byType.get("Regular").getPasses());
+        assertEquals(1900, byType.get("Regular").getDenials());
+    }
+
+    @Test
+    public void testConcurrentIssueOfSameIdSucceedsOnce() throws InterruptedException {
+        AtomicInteger issued = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 64; i++) {
+            executor.submit(() -> {
+                if (controller.issueTripBasedCard("DUP001", "Pupil", 30, 5)) {
+                    issued.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1, issued.get());
+    }
+
+    @Test
+    public void testControllerWithOffHeapRegistry() {
+        TurnstileController offHeap = new TurnstileController(new OffHeapCardRegistry(100));
+        assertTrue(offHeap.issueTripBasedCard("OFF001", "Student", 30, 1));
+        assertTrue(offHeap.issueAccumulatingCard("OFF002", 10.0));
+        assertFalse(offHeap.issueTripBasedCard("OFF001", "Pupil", 30, 5));
+        assertTrue(offHeap.issueTripBasedCard("OFF003", "Pupil", -1, 5));
+
+        TurnstileController.ValidationResult result = offHeap.validateCard("OFF001");
+        assertTrue(result.isSuccess());
+        assertEquals(0, result.getCard().getTripsRemaining());
+        assertEquals("No trips remaining", offHeap.validateCard("OFF001").getMessage());
+
+        assertTrue(offHeap.validateCard("OFF002").isSuccess());
+        assertEquals("Insufficient balance", offHeap.validateCard("OFF002").getMessage());
+        assertTrue(offHeap.validateCard("OFF003").getMessage().contains("Card expired"));
+        assertEquals("Card not found", offHeap.validateCard("OFF404").getMessage());
+
+        Map<String, TurnstileController.TypeStatistics> stats = offHeap.getStatisticsByType();
+        assertEquals(1, stats.get("Student").getPasses());
+        assertEquals(1, stats.get("Student").getDenials());
+        assertEquals(1, stats.get("Regular").getPasses());
+        assertEquals(1, stats.get("Pupil").getDenials());
+        assertEquals(1, stats.get("Unknown").getDenials());
+    }
+
+    @Test
+    public void testValidateCardsBatch() {
+        controller.issueTripBasedCard("BATCH001", "Student", 30, 2);
+        controller.issueAccumulatingCard("BATCH002", 8.0);
+        controller.issueTripBasedCard("BATCH003", "Pupil", -1, 5);
+
+        String[] ids = {"IGNORED", "BATCH001", "BATCH001", "BATCH001", "BATCH002", "BATCH002", "BATCH003", "NOPE"};
+        int[] results = new int[7];
+        int passes = controller.validateCards(ids, 1, 7, results);
+
+        assertEquals(3, passes);
+        int[] expected = {CardRegistry.PASSED, CardRegistry.PASSED, CardRegistry.NO_TRIPS, CardRegistry.PASSED,
+                CardRegistry.INSUFFICIENT_BALANCE, CardRegistry.EXPIRED, CardRegistry.NOT_FOUND};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], CardRegistry.status(results[i]), "Tap " + i);
+        }
+
+        TurnstileController.Statistics stats = controller.getGeneralStatistics();
+        assertEquals(3, stats.getTotalPasses());
+        assertEquals(4, stats.getTotalDenials());
+        Map<String, TurnstileController.TypeStatistics> byType = controller.getStatisticsByType();
+        assertEquals(2, byType.get("Student").getPasses());
+        assertEquals(1, byType.get("Student").getDenials());
+        assertEquals(1, byType.get("Pupil").getDenials());
+        assertEquals(1, byType.get("Unknown").getDenials());
+
+        // Results are only built for the taps that are shown
+        TurnstileController.ValidationResult granted = controller.resultOf("BATCH001", results[0]);
+        assertTrue(granted.isSuccess());
+        assertEquals("Access granted", granted.getMessage());
+        assertTrue(granted.getDetails().startsWith("Remaining trips: 0"));
+        assertEquals("No trips remaining", controller.resultOf("BATCH001", results[2]).getMessage());
+        assertTrue(controller.resultOf("BATCH003", results[5]).getMessage().contains("Card expired"));
+        assertEquals("Card not found", controller.resultOf("NOPE", results[6]).getMessage());
+    }
+
+    @Test
+    public void testValidateCardsRejectsBadRanges() {
+        String[] ids = {"A", "B"};
+        assertThrows(IndexOutOfBoundsException.class, () -> controller.validateCards(ids, 1, 2, new int[2]));
+        assertThrows(IndexOutOfBoundsException.class, () -> controller.validateCards(ids, 0, 2, new int[1]));
+        assertEquals(0, controller.getGeneralStatistics().getTotalAttempts());
+    }
+
+    @Test
+    public void testWindowStatisticsByTypeAndTurnstile() {
+        AtomicLong clock = new AtomicLong(1_000L * 3_600_000L);
+        TurnstileController timed = new TurnstileController(new HeapCardRegistry(), clock::get);
+        timed.issueTripBasedCard("WIN001", "Student", 30, 2);
+        timed.issueAccumulatingCard("WIN002", 100.0);
+
+        timed.validateCard("WIN001", 1);
+        timed.validateCard("WIN002", 2);
+        clock.addAndGet(10 * 60_000L);
+        timed.validateCard("WIN001", 1);
+        timed.validateCard("WIN001", 1); // No trips left
+        timed.validateCards(new String[]{"WIN002", "NOPE"}, 0, 2, new int[2], 2);
+
+        Map<String, TurnstileController.WindowStatistics> lastMinute = timed.getStatisticsByType(1);
+        assertEquals(1, lastMinute.get("Student").getPasses());
+        assertEquals(1, lastMinute.get("Student").getDenials());
+        assertEquals(1, lastMinute.get("Regular").getPasses());
+        assertEquals(1, lastMinute.get("Unknown").getDenials());
+
+        Map<String, TurnstileController.WindowStatistics> lastHour = timed.getStatisticsByType(60);
+        assertEquals(2, lastHour.get("Student").getPasses());
+        assertEquals(2, lastHour.get("Regular").getPasses());
+        assertEquals(66.67, lastHour.get("Student").getSuccessRate(), 0.01);
+        assertEquals(1, lastHour.get("Unknown").getTotalAttempts());
+
+        Map<Integer, TurnstileController.WindowStatistics> byTurnstile = timed.getStatisticsByTurnstile(60);
+        assertEquals(2, byTurnstile.get(1).getPasses());
+        assertEquals(1, byTurnstile.get(1).getDenials());
+        assertEquals(2, byTurnstile.get(2).getPasses());
+        assertEquals(1, byTurnstile.get(2).getDenials());
+        assertFalse(byTurnstile.containsKey(0));
+        assertEquals(2, timed.getStatisticsByTurnstile(1).get(1).getTotalAttempts());
+
+        // Lifetime totals are unchanged by the windows
+        assertEquals(4, timed.getGeneralStatistics().getTotalPasses());
+        assertEquals(2, timed.getGeneralStatistics().getTotalDenials());
+        assertThrows(IllegalArgumentException.class, () -> timed.validateCard("WIN001", -1));
+    }
+
+    @Test
+    public void testSweepDeactivatesExpiredCards() {
+        AtomicLong shift = new AtomicLong();
+        Clock shifted = new Clock() {
+            @Override
+            public ZoneId getZone() { return ZoneOffset.UTC; }
+
+            @Override
+            public Clock withZone(ZoneId zone) { return this; }
+
+            @Override
+            public Instant instant() { return Instant.now().plus(Duration.ofDays(shift.get())); }
+        };
+        EpochDayClock days = new EpochDayClock(shifted);
+        TurnstileController dated = new TurnstileController(new HeapCardRegistry(), System::currentTimeMillis, days);
+        dated.issueTripBasedCard("EXP001", "Student", 1, 5);
+        dated.issueTripBasedCard("EXP002", "Pupil", 10, 5);
+        dated.issueAccumulatingCard("EXP003", 50.0);
+
+        assertEquals(0, dated.sweepExpiredCards());
+        assertTrue(dated.validateCard("EXP001").isSuccess());
+
+        shift.set(2);
+        assertEquals(1, dated.sweepExpiredCards());
+        TurnstileController.ValidationResult expired = dated.validateCard("EXP001");
+        assertTrue(expired.getMessage().contains("Card expired"));
+        assertFalse(expired.getCard().isActive());
+        assertTrue(dated.validateCard("EXP002").isSuccess());
+        assertTrue(dated.validateCard("EXP003").isSuccess());
+
+        shift.set(11);
+        assertEquals(1, dated.sweepExpiredCards());
+        assertEquals(0, dated.sweepExpiredCards());
+    }
+
+    @Test
+    public void testScheduledSweepGoesOnAfterFailure() throws InterruptedException {
+        CardRegistry cards = new HeapCardRegistry() {
+            @Override
+            public boolean deactivate(String id) {
+                if (id.startsWith("BAD")) {
+                    throw new IllegalStateException("Cannot deactivate " + id);
+                }
+                return super.deactivate(id);
+            }
+        };
+        EpochDayClock days = EpochDayClock.system();
+        LocalDate past = LocalDate.ofEpochDay(days.today() - 1);
+        CardExpiryIndex index = new CardExpiryIndex();
+        for (String id : new String[]{"BAD001", "OLD001", "BAD002"}) {
+            cards.issue(new TripBasedCard(id, "Regular", past, 5));
+            index.add(id, past.toEpochDay());
+        }
+
+        ExpirySweeper sweeper = new ExpirySweeper(days, index, cards);
+        IllegalStateException failure = assertThrows(IllegalStateException.class, sweeper::sweep);
+        assertEquals(1, failure.getSuppressed().length);
+        assertFalse(cards.find("OLD001").isActive(), "The other cards should still be deactivated");
+
+        cards.issue(new TripBasedCard("BAD003", "Regular", past, 5));
+        index.add("BAD003", past.toEpochDay());
+        try {
+            assertThrows(IllegalArgumentException.class, () -> sweeper.start(Duration.ZERO));
+            sweeper.start(Duration.ofMillis(1));
+            cards.issue(new TripBasedCard("OLD002", "Regular", past, 5));
+            index.add("OLD002", past.toEpochDay());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cards.find("OLD002").isActive() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertFalse(cards.find("OLD002").isActive(), "Sweeping should go on after a failed run");
+        } finally {
+            sweeper.close();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package org.example.controller;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WindowedCounterTest {
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long START = 1_000 * HOUR;
+
+    @Test
+    public void testMinuteWindows() {
+        WindowedCounter counter = new WindowedCounter();
+        counter.record(START, true);
+        counter.record(START + 10, false);
+        counter.record(START + MINUTE, true);
+        counter.record(START + 5 * MINUTE, true);
+
+        long now = START + 5 * MINUTE + 1;
+        assertArrayEquals(new long[]{1, 0}, counter.lastMinutes(now, 1));
+        assertArrayEquals(new long[]{1, 0}, counter.lastMinutes(now, 4));
+        assertArrayEquals(new long[]{2, 0}, counter.lastMinutes(now, 5));
+        assertArrayEquals(new long[]{3, 1}, counter.lastMinutes(now, 6));
+    }
+
+    @Test
+    public void testOldBucketsAreNotCounted() {
+        WindowedCounter counter = new WindowedCounter();
+        counter.record(START, true);
+
+        // The same ring slot an hour later belongs to a new period
+        assertArrayEquals(new long[]{0, 0}, counter.lastMinutes(START + HOUR, 60));
+        counter.record(START + HOUR, false);
+        assertArrayEquals(new long[]{0, 1}, counter.lastMinutes(START + HOUR, 1));
+    }
+
+    @Test
+    public void testHourWindows() {
+        WindowedCounter counter = new WindowedCounter();
+        counter.record(START, true);
+        counter.record(START + 2 * HOUR, false);
+        counter.record(START + 3 * HOUR, true);
+
+        long now = START + 3 * HOUR + 30 * MINUTE;
+        assertArrayEquals(new long[]{1, 1}, counter.lastMinutes(now, 120));
+        assertArrayEquals(new long[]{2, 1}, counter.lastMinutes(now, 24 * 60));
+        assertThrows(IllegalArgumentException.class, () -> counter.lastMinutes(now, 0));
+        assertThrows(IllegalArgumentException.class, () -> counter.lastMinutes(now, 24 * 60 + 1));
+    }
+
+    @Test
+    public void testCoveredMinutesOfHourWindows() {
+        long now = START + 3 * HOUR + 30 * MINUTE;
+        assertEquals(45, WindowedCounter.coveredMinutes(now, 45));
+        // Two whole hours are summed for 61 minutes: the previous one and the 31 minutes of this one
+        assertEquals(91, WindowedCounter.coveredMinutes(now, 61));
+        assertEquals(91, WindowedCounter.coveredMinutes(now, 120));
+        assertEquals(23 * 60 + 31, WindowedCounter.coveredMinutes(now, 24 * 60));
+        assertEquals(61, WindowedCounter.coveredMinutes(START + HOUR, 120));
+        assertThrows(IllegalArgumentException.class, () -> WindowedCounter.coveredMinutes(now, 0));
+
+        TurnstileController.WindowStatistics statistics =
+                new TurnstileController.WindowStatistics("Regular", 61, 91, 150, 32);
+        assertEquals(2.0, statistics.getAttemptsPerMinute(), 1e-9);
+        assertEquals(61, statistics.getWindowMinutes());
+    }
+}
\ No newline at end of file
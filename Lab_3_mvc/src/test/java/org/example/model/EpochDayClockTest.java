@@ -0,0 +1,130 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class EpochDayClockTest {
+
+    // Clock that only moves when the test moves it
+    static final class MutableClock extends Clock {
+        private Instant now;
+        private final ZoneId zone;
+
+        MutableClock(Instant now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() { return zone; }
+
+        @Override
+        public Clock withZone(ZoneId zone) { return new MutableClock(now, zone); }
+
+        @Override
+        public Instant instant() { return now; }
+    }
+
+    @Test
+    public void testTodayFollowsMidnight() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T23:59:00Z"), ZoneOffset.UTC);
+        EpochDayClock days = new EpochDayClock(clock);
+        assertEquals(LocalDate.of(2025, 1, 1).toEpochDay(), days.today());
+
+        clock.advance(Duration.ofSeconds(59));
+        assertEquals(LocalDate.of(2025, 1, 1).toEpochDay(), days.today());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(LocalDate.of(2025, 1, 2).toEpochDay(), days.today());
+    }
+
+    @Test
+    public void testUsesClockTimeZone() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T22:30:00Z"), ZoneOffset.ofHours(2));
+        assertEquals(LocalDate.of(2025, 1, 2).toEpochDay(), new EpochDayClock(clock).today());
+    }
+
+    @Test
+    public void testCardExpiryUsesEpochDays() {
+        long today = LocalDate.of(2025, 1, 10).toEpochDay();
+        Card card = new TripBasedCard("DAY001", "Student", LocalDate.of(2025, 1, 10), 2);
+
+        assertFalse(card.isExpiredOn(today));
+        assertTrue(card.isExpiredOn(today + 1));
+        assertTrue(card.useTrip(today));
+        assertFalse(card.useTrip(today + 1));
+        assertEquals(1, card.getTripsRemaining());
+        assertFalse(new AccumulatingCard("DAY002", 10.0).isExpiredOn(Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void testExpiryIndexDrainsPastDays() {
+        CardExpiryIndex index = new CardExpiryIndex();
+        index.add("A", 10);
+        index.add("B", 11);
+        index.add("C", 11);
+        index.add("D", 12);
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(3, index.drainExpired(12, drained::add));
+        assertEquals(List.of("A", "B", "C"), drained);
+        assertEquals(1, index.size());
+        assertEquals(0, index.drainExpired(12, drained::add));
+        assertEquals(1, index.drainExpired(13, drained::add));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testExpiryIndexLosesNoIdAddedDuringDrains() throws InterruptedException {
+        CardExpiryIndex index = new CardExpiryIndex();
+        int threads = 4;
+        int idsPerThread = 20_000;
+        Set<String> drained = ConcurrentHashMap.newKeySet();
+        AtomicBoolean duplicate = new AtomicBoolean();
+        AtomicBoolean adding = new AtomicBoolean(true);
+
+        // Cards issued with an expiry day that is already past, while a sweeper keeps draining
+        Thread drainer = new Thread(() -> {
+            while (adding.get()) {
+                index.drainExpired(100, id -> duplicate.compareAndSet(false, !drained.add(id)));
+            }
+        });
+        drainer.start();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < idsPerThread; i++) {
+                    index.add(thread + "-" + i, i % 3);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        adding.set(false);
+        drainer.join();
+        index.drainExpired(100, id -> duplicate.compareAndSet(false, !drained.add(id)));
+
+        assertEquals(threads * idsPerThread, drained.size());
+        assertFalse(duplicate.get(), "No id should be drained twice");
+        assertEquals(0, index.size());
+    }
+}
\ No newline at end of file
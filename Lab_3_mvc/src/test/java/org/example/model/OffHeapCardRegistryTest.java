@@ -0,0 +1,124 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OffHeapCardRegistryTest {
+    private static final long TODAY = LocalDate.now().toEpochDay();
+
+    @Test
+    public void testIssueAndFind() {
+        OffHeapCardRegistry registry = new OffHeapCardRegistry(16);
+        LocalDate expiry = LocalDate.now().plusDays(30);
+
+        assertTrue(registry.issue(new TripBasedCard("TRIP001", "Student", expiry, 10)));
+        assertTrue(registry.issue(new AccumulatingCard("ACC001", 20.5)));
+        assertFalse(registry.issue(new TripBasedCard("TRIP001", "Pupil", expiry, 5)));
+
+        assertEquals(2, registry.size());
+        assertTrue(registry.contains("TRIP001"));
+        assertFalse(registry.contains("TRIP002"));
+        assertNull(registry.find("TRIP002"));
+
+        Card trip = registry.find("TRIP001");
+        assertInstanceOf(TripBasedCard.class, trip);
+        assertEquals("Student", trip.getType());
+        assertEquals(expiry, trip.getExpiryDate());
+        assertEquals(10, trip.getTripsRemaining());
+
+        AccumulatingCard balance = (AccumulatingCard) registry.find("ACC001");
+        assertEquals(2050, balance.getBalanceKopecks());
+    }
+
+    @Test
+    public void testCardWithoutExpiryDateNeverExpires() {
+        for (CardRegistry registry : new CardRegistry[]{new HeapCardRegistry(), new OffHeapCardRegistry(16)}) {
+            assertTrue(registry.issue(new TripBasedCard("OPEN001", "Staff", null, 2)));
+            assertEquals(CardRegistry.PASSED, CardRegistry.status(registry.tap("OPEN001", TODAY + 100_000)));
+            Card card = registry.find("OPEN001");
+            assertNull(card.getExpiryDate(), registry.getClass().getSimpleName());
+            assertEquals(1, card.getTripsRemaining());
+        }
+    }
+
+    @Test
+    public void testTapStatuses() {
+        OffHeapCardRegistry registry = new OffHeapCardRegistry(16);
+        registry.issue(new TripBasedCard("ONE", "Pupil", LocalDate.now().plusDays(10), 1));
+        registry.issue(new TripBasedCard("OLD", "Pupil", LocalDate.now().minusDays(1), 5));
+        registry.issue(new AccumulatingCard("POOR", 10.0));
+        registry.issue(new TripBasedCard("OFF", "Student", LocalDate.now().plusDays(10), 5));
+        registry.deactivate("OFF");
+
+        int code = registry.tap("ONE", TODAY);
+        assertEquals(CardRegistry.PASSED, CardRegistry.status(code));
+        assertEquals("Pupil", registry.typeName(CardRegistry.typeId(code)));
+        assertEquals(CardRegistry.NO_TRIPS, CardRegistry.status(registry.tap("ONE", TODAY)));
+        assertEquals(CardRegistry.EXPIRED, CardRegistry.status(registry.tap("OLD", TODAY)));
+        assertEquals(CardRegistry.PASSED, CardRegistry.status(registry.tap("POOR", TODAY)));
+        assertEquals(CardRegistry.INSUFFICIENT_BALANCE, CardRegistry.status(registry.tap("POOR", TODAY)));
+        assertEquals(CardRegistry.DEACTIVATED, CardRegistry.status(registry.tap("OFF", TODAY)));
+        assertEquals(CardRegistry.NOT_FOUND, CardRegistry.status(registry.tap("NONE", TODAY)));
+
+        assertEquals(200, ((AccumulatingCard) registry.find("POOR")).getBalanceKopecks());
+        assertFalse(registry.find("OFF").isActive());
+    }
+
+    @Test
+    public void testFillsToCapacityWithCollisions() {
+        int capacity = 10_000;
+        OffHeapCardRegistry registry = new OffHeapCardRegistry(capacity);
+        LocalDate expiry = LocalDate.now().plusDays(30);
+        for (int i = 0; i < capacity; i++) {
+            assertTrue(registry.issue(new TripBasedCard("CARD" + i, "Regular", expiry, i % 10 + 1)));
+        }
+
+        for (int i = 0; i < capacity; i++) {
+            assertEquals(i % 10 + 1, registry.find("CARD" + i).getTripsRemaining());
+        }
+        assertFalse(registry.contains("CARD" + capacity));
+        assertThrows(IllegalStateException.class,
+                () -> registry.issue(new TripBasedCard("EXTRA", "Regular", expiry, 1)));
+        assertEquals(16_384L * OffHeapCardRegistry.SLOT_SIZE, registry.getOffHeapBytes());
+    }
+
+    @Test
+    public void testRejectsIdsThatDoNotFitASlot() {
+        OffHeapCardRegistry registry = new OffHeapCardRegistry(4);
+        LocalDate expiry = LocalDate.now().plusDays(30);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.issue(new TripBasedCard("X".repeat(OffHeapCardRegistry.MAX_ID_LENGTH + 1), "Regular", expiry, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.issue(new TripBasedCard("КАРТКА", "Regular", expiry, 1)));
+        assertEquals(CardRegistry.NOT_FOUND, registry.tap("X".repeat(100), TODAY));
+    }
+
+    @Test
+    public void testConcurrentTapsSpendEachTripOnce() throws InterruptedException {
+        OffHeapCardRegistry registry = new OffHeapCardRegistry(4);
+        registry.issue(new TripBasedCard("HOT", "Student", LocalDate.now().plusDays(30), 1000));
+        AtomicInteger granted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (CardRegistry.status(registry.tap("HOT", TODAY)) == CardRegistry.PASSED) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1000, granted.get());
+        assertEquals(0, registry.find("HOT").getTripsRemaining());
+    }
+}
\ No newline at end of file
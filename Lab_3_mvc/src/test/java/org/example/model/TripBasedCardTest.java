@@ -3,6 +3,10 @@ package org.example.model;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TripBasedCardTest {
 
@@ -159,4 +163,33 @@ public class TripBasedCardTest {
         assertNotEquals(studentCard.hashCode(), pupilCard.hashCode());
         assertNotEquals(studentCard.hashCode(), regularCard.hashCode());
     }
+
+    @Test
+    public void testConcurrentUseTripSpendsEachTripOnce() throws InterruptedException {
+        TripBasedCard card = new TripBasedCard("CONC001", "Student", LocalDate.now().plusDays(30), 500);
+        AtomicInteger granted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2000; i++) {
+            executor.submit(() -> {
+                if (card.useTrip()) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(500, granted.get());
+        assertEquals(0, card.getTripsRemaining());
+    }
+
+    @Test
+    public void testDeactivatedCardKeepsItsTrips() {
+        TripBasedCard card = new TripBasedCard("CONC002", "Pupil", LocalDate.now().plusDays(30), 3);
+        card.deactivate();
+
+        assertFalse(card.useTrip());
+        assertEquals(3, card.getTripsRemaining());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package org.example.storage;
+
+import org.example.controller.TurnstileController;
+import org.example.model.AccumulatingCard;
+import org.example.model.CardRegistry;
+import org.example.model.HeapCardRegistry;
+import org.example.model.OffHeapCardRegistry;
+import org.example.model.TripBasedCard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class TapJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRecoversIssuesTapsAndTopUps() throws IOException {
+        CardRegistry cards = new HeapCardRegistry();
+        try (TapJournal journal = TapJournal.open(directory, cards)) {
+            TurnstileController controller = new TurnstileController(cards, journal);
+            controller.issueTripBasedCard("TRIP001", "Student", 30, 5);
+            controller.issueAccumulatingCard("ACC001", 10.0);
+            controller.validateCard("TRIP001");
+            controller.validateCard("TRIP001");
+            controller.validateCard("ACC001");
+            controller.validateCard("ACC001");
+            assertTrue(controller.topUpCard("ACC001", 20.5));
+            assertFalse(controller.topUpCard("TRIP001", 5));
+            journal.logIssue(new TripBasedCard("OPEN001", "Staff", null, 3), cards::issue);
+        }
+
+        CardRegistry recovered = new HeapCardRegistry();
+        TapJournal.open(directory, recovered).close();
+        assertEquals(3, recovered.size());
+        assertNull(recovered.find("OPEN001").getExpiryDate(), "A card without an expiry date should stay without one");
+        assertEquals(3, recovered.find("TRIP001").getTripsRemaining());
+        assertEquals("Student", recovered.find("TRIP001").getType());
+        assertEquals(2250, ((AccumulatingCard) recovered.find("ACC001")).getBalanceKopecks());
+    }
+
+    @Test
+    public void testSnapshotReplacesFoldedSegments() throws IOException {
+        CardRegistry cards = new HeapCardRegistry();
+        try (TapJournal journal = TapJournal.open(directory, cards)) {
+            TurnstileController controller = new TurnstileController(cards, journal);
+            controller.issueTripBasedCard("TRIP001", "Regular", 30, 10);
+            controller.validateCard("TRIP001");
+            journal.snapshot();
+            controller.validateCard("TRIP001");
+            journal.snapshot();
+            controller.validateCard("TRIP001");
+        }
+
+        assertEquals(List.of("snapshot-2.bin", "wal-2.log"), files());
+
+        CardRegistry recovered = new OffHeapCardRegistry(16);
+        TapJournal.open(directory, recovered).close();
+        assertEquals(7, recovered.find("TRIP001").getTripsRemaining());
+    }
+
+    @Test
+    public void testTornRecordIsCutOff() throws IOException {
+        CardRegistry cards = new HeapCardRegistry();
+        try (TapJournal journal = TapJournal.open(directory, cards)) {
+            TurnstileController controller = new TurnstileController(cards, journal);
+            controller.issueAccumulatingCard("ACC001", 16.0);
+            controller.validateCard("ACC001");
+        }
+        Path segment = directory.resolve("wal-0.log");
+        long intact = Files.size(segment);
+        // Header of a record whose payload never made it to disk
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 2}, StandardOpenOption.APPEND);
+
+        CardRegistry recovered = new HeapCardRegistry();
+        TapJournal.open(directory, recovered).close();
+        assertEquals(800, ((AccumulatingCard) recovered.find("ACC001")).getBalanceKopecks());
+        assertEquals(intact, Files.size(segment));
+    }
+
+    @Test
+    public void testConcurrentTapsAreAllRecovered() throws Exception {
+        int threads = 8;
+        int tapsPerThread = 500;
+        CardRegistry cards = new HeapCardRegistry();
+        try (TapJournal journal = TapJournal.open(directory, cards)) {
+            TurnstileController controller = new TurnstileController(cards, journal);
+            controller.issueTripBasedCard("TRIP001", "Regular", 30, threads * tapsPerThread + 10);
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < tapsPerThread; i++) {
+                        controller.validateCard("TRIP001");
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            journal.snapshot();
+        }
+
+        CardRegistry recovered = new HeapCardRegistry();
+        TapJournal.open(directory, recovered).close();
+        assertEquals(10, recovered.find("TRIP001").getTripsRemaining());
+    }
+
+    @Test
+    public void testCardTheRegistryCannotHoldIsNotLogged() throws IOException {
+        CardRegistry cards = new OffHeapCardRegistry(1);
+        try (TapJournal journal = TapJournal.open(directory, cards)) {
+            TurnstileController controller = new TurnstileController(cards, journal);
+            assertTrue(controller.issueTripBasedCard("TRIP001", "Regular", 30, 5));
+            assertThrows(IllegalStateException.class, () -> controller.issueTripBasedCard("TRIP002", "Regular", 30, 5));
+            assertFalse(controller.issueTripBasedCard("TRIP001", "Student", 30, 50));
+            controller.validateCard("TRIP001");
+        }
+
+        CardRegistry recovered = new OffHeapCardRegistry(1);
+        TapJournal.open(directory, recovered).close();
+        assertEquals(1, recovered.size());
+        assertEquals(4, recovered.find("TRIP001").getTripsRemaining());
+        assertEquals("Regular", recovered.find("TRIP001").getType());
+    }
+
+    @Test
+    public void testControllerIsReadOnlyAfterJournalFails() throws IOException {
+        CardRegistry cards = new HeapCardRegistry();
+        TapJournal journal = TapJournal.open(directory, cards);
+        try {
+            TurnstileController controller = new TurnstileController(cards, journal);
+            controller.issueTripBasedCard("TRIP001", "Regular", 30, 5);
+            controller.issueAccumulatingCard("ACC001", 10.0);
+            failFlusher();
+
+            assertThrows(UncheckedIOException.class, () -> controller.validateCard("TRIP001"));
+            assertEquals(1, controller.getGeneralStatistics().getTotalPasses());
+            assertEquals(1, controller.getStatisticsByType(1).get("Regular").getPasses());
+
+            // Nothing more is changed once the journal has failed
+            assertThrows(UncheckedIOException.class, () -> controller.validateCard("TRIP001"));
+            assertThrows(UncheckedIOException.class,
+                    () -> controller.validateCards(new String[]{"TRIP001"}, 0, 1, new int[1]));
+            assertThrows(UncheckedIOException.class, () -> controller.topUpCard("ACC001", 5));
+            assertThrows(UncheckedIOException.class, () -> controller.issueAccumulatingCard("ACC002", 10.0));
+            assertEquals(4, cards.find("TRIP001").getTripsRemaining());
+            assertEquals(1000, ((AccumulatingCard) cards.find("ACC001")).getBalanceKopecks());
+            assertFalse(cards.contains("ACC002"));
+            assertEquals(1, controller.getGeneralStatistics().getTotalAttempts());
+        } finally {
+            assertThrows(IOException.class, journal::close);
+        }
+
+        // The tap that was never logged is not recovered
+        CardRegistry recovered = new HeapCardRegistry();
+        try (TapJournal reopened = TapJournal.open(directory, recovered)) {
+            assertEquals(5, recovered.find("TRIP001").getTripsRemaining());
+            reopened.checkWritable();
+        }
+    }
+
+    @Test
+    public void testBatchIsNotReportedWhenItsWaitFails() throws IOException {
+        CardRegistry cards = new HeapCardRegistry();
+        TapJournal journal = TapJournal.open(directory, cards);
+        try {
+            TurnstileController controller = new TurnstileController(cards, journal);
+            controller.issueTripBasedCard("TRIP001", "Regular", 30, 5);
+            AtomicInteger heard = new AtomicInteger();
+            controller.setTapListener((cardId, code, turnstileId) -> heard.incrementAndGet());
+            failFlusher();
+
+            String[] batch = {"TRIP001", "NONE001", "TRIP001"};
+            assertThrows(UncheckedIOException.class, () -> controller.validateCards(batch, 0, 3, new int[3]));
+            assertEquals(0, heard.get(), "No tap should be reported as passed before it is on disk");
+            assertEquals(2, controller.getGeneralStatistics().getTotalPasses());
+            assertEquals(1, controller.getGeneralStatistics().getTotalDenials());
+            long windowed = 0;
+            for (TurnstileController.WindowStatistics statistics : controller.getStatisticsByType(1).values()) {
+                windowed += statistics.getTotalAttempts();
+            }
+            assertEquals(3, windowed, "The windows should count the same taps as the totals");
+        } finally {
+            assertThrows(IOException.class, journal::close);
+        }
+    }
+
+    // Interrupting the flusher closes the segment under it, so its next write fails as on a broken disk
+    private static void failFlusher() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("tap-journal-flusher")) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
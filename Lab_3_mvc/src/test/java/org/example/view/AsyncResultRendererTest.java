@@ -0,0 +1,93 @@
+package org.example.view;
+
+import org.example.controller.TurnstileController;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncResultRendererTest {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+
+    private String[] lines() {
+        return output.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+    }
+
+    @Test
+    public void testRendersResultsLikeTheView() {
+        TurnstileController controller = new TurnstileController();
+        controller.issueAccumulatingCard("ACC001", 10.0);
+
+        AsyncResultRenderer renderer = new AsyncResultRenderer(controller, out).start();
+        try {
+            controller.validateCard("ACC001");
+            controller.validateCard("MISSING");
+        } finally {
+            renderer.close();
+        }
+
+        assertArrayEquals(new String[]{
+                "Access granted",
+                String.format("Remaining balance: %.2f UAH", 2.0),
+                "Error: Card not found"
+        }, lines());
+    }
+
+    @Test
+    public void testFullQueueSummarizesDroppedResults() {
+        TurnstileController controller = new TurnstileController();
+        controller.issueTripBasedCard("TRIP001", "Regular", 30, 10);
+        AsyncResultRenderer renderer = new AsyncResultRenderer(controller, out, 4);
+        controller.setTapListener(renderer);
+
+        // Nothing renders until close(), so only the first four results fit
+        for (int i = 0; i < 6; i++) {
+            controller.validateCard("TRIP001");
+        }
+        for (int i = 0; i < 3; i++) {
+            controller.validateCard("MISSING");
+        }
+        renderer.close();
+
+        String[] lines = lines();
+        assertEquals(9, lines.length);
+        assertEquals("Access granted", lines[0]);
+        assertEquals("... 5 results not shown (2 granted, 3 denied)", lines[8]);
+    }
+
+    @Test
+    public void testConcurrentTapsAreRenderedOrCounted() throws InterruptedException {
+        TurnstileController controller = new TurnstileController();
+        int threads = 4;
+        int tapsPerThread = 2000;
+
+        AsyncResultRenderer renderer = new AsyncResultRenderer(controller, out, 64).start();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < tapsPerThread; i++) {
+                    controller.validateCard("MISSING");
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        renderer.close();
+
+        long shown = 0;
+        long dropped = 0;
+        for (String line : lines()) {
+            if (line.equals("Error: Card not found")) {
+                shown++;
+            } else {
+                dropped += Long.parseLong(line.substring(4, line.indexOf(' ', 4)));
+            }
+        }
+        assertEquals(threads * tapsPerThread, shown + dropped);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.benchmark;
+
+import org.example.controller.TurnstileController;
+
+import java.util.Random;
+
+// A city-sized card set: mostly trip-based passes of a few types, some balance cards, a few already expired.
+// Taps follow a rush hour pattern: a small group of hot cards (daily commuters) takes a large share of the
+// taps, some taps come from unknown cards and the rest are spread over the whole population.
+public final class CardPopulation {
+    private static final String[] TYPES = {"Regular", "Student", "Pupil"};
+    private static final double ACCUMULATING_SHARE = 0.3;
+    private static final double EXPIRED_SHARE = 0.03;
+    private static final double HOT_CARD_SHARE = 0.01;
+    private static final double HOT_TAP_SHARE = 0.3;
+    private static final double UNKNOWN_TAP_SHARE = 0.02;
+
+    private final String[] ids;
+
+    public CardPopulation(int count) {
+        ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = "CARD" + i;
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // Every trip-based card gets trips and every balance card starts with balance UAH
+    public void issue(TurnstileController controller, int trips, double balance, long seed) {
+        Random random = new Random(seed);
+        for (String id : ids) {
+            if (random.nextDouble() < ACCUMULATING_SHARE) {
+                controller.issueAccumulatingCard(id, balance);
+            } else {
+                boolean expired = random.nextDouble() < EXPIRED_SHARE / (1 - ACCUMULATING_SHARE);
+                int validityDays = expired ? -1 - random.nextInt(30) : 1 + random.nextInt(60);
+                controller.issueTripBasedCard(id, TYPES[random.nextInt(TYPES.length)], validityDays, trips);
+            }
+        }
+    }
+
+    // Card ids in the order they are tapped; the strings are shared with the population, so replaying them allocates nothing
+    public String[] taps(int length, long seed) {
+        Random random = new Random(seed);
+        int hotCards = Math.max(1, (int) (ids.length * HOT_CARD_SHARE));
+        String[] taps = new String[length];
+        for (int i = 0; i < length; i++) {
+            double pick = random.nextDouble();
+            if (pick < UNKNOWN_TAP_SHARE) {
+                taps[i] = "UNKNOWN" + random.nextInt(ids.length + 1);
+            } else if (pick < UNKNOWN_TAP_SHARE + HOT_TAP_SHARE) {
+                taps[i] = ids[random.nextInt(hotCards)];
+            } else {
+                taps[i] = ids[random.nextInt(ids.length)];
+            }
+        }
+        return taps;
+    }
+}
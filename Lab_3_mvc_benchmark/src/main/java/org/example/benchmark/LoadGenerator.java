@@ -0,0 +1,174 @@
+package org.example.benchmark;
+
+import org.example.controller.TurnstileController;
+import org.example.model.CardRegistry;
+import org.example.model.HeapCardRegistry;
+import org.example.model.OffHeapCardRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+// Rush hour against one TurnstileController: issues the card population, then every thread replays its
+// own tap sequence for the given number of seconds. The tap rate rises from 30% to the peak halfway
+// through the run and falls back, the way a morning peak does.
+//
+// Latency is measured from the moment each tap was scheduled, not from when the thread got to it, so a
+// pause delays every tap that queued up behind it (HdrHistogram's correction for coordinated omission).
+// Service time, from the call to its return, is reported alongside. A peak rate of 0 taps as fast as
+// the threads can, and then the two are the same.
+//
+// Usage: LoadGenerator [cards] [threads] [seconds] [peak taps/s] [heap|offheap]
+public final class LoadGenerator {
+    private static final int TAPS_PER_THREAD = 1 << 20;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int cards = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        long peakRate = args.length > 3 ? Long.parseLong(args[3]) : 1_000_000;
+        String registryKind = args.length > 4 ? args[4] : "heap";
+
+        CardRegistry registry = registryKind.equals("offheap") ? new OffHeapCardRegistry(cards) : new HeapCardRegistry();
+        TurnstileController controller = new TurnstileController(registry);
+        CardPopulation population = new CardPopulation(cards);
+        long issueStart = System.nanoTime();
+        population.issue(controller, 60, 200.0, 1);
+        System.out.printf("Issued %,d cards (%s registry) in %,d ms%n",
+                cards, registryKind, (System.nanoTime() - issueStart) / 1_000_000);
+
+        Worker[] workers = new Worker[threads];
+        long durationNanos = seconds * 1_000_000_000L;
+        for (int i = 0; i < threads; i++) {
+            String[] taps = population.taps(TAPS_PER_THREAD, 100 + i);
+            workers[i] = new Worker(controller, taps, i, peakRate / (double) threads, durationNanos);
+        }
+        System.out.printf("Running %d threads for %d s, peak %s%n",
+                threads, seconds, peakRate > 0 ? String.format("%,d taps/s", peakRate) : "unthrottled");
+
+        // Started together so the rate profile lines up across threads
+        long start = System.nanoTime() + 100_000_000L;
+        for (Worker worker : workers) {
+            worker.start = start;
+            worker.thread.start();
+        }
+        LatencyHistogram response = new LatencyHistogram();
+        LatencyHistogram service = new LatencyHistogram();
+        long allocatedBytes = 0;
+        for (Worker worker : workers) {
+            worker.thread.join();
+            response.add(worker.response);
+            service.add(worker.service);
+            allocatedBytes += worker.allocatedBytes;
+        }
+        report(controller, response, service, allocatedBytes, durationNanos);
+    }
+
+    private static void report(TurnstileController controller, LatencyHistogram response, LatencyHistogram service,
+                               long allocatedBytes, long durationNanos) {
+        long taps = service.getTotalCount();
+        double elapsedSeconds = durationNanos / 1e9;
+        TurnstileController.Statistics totals = controller.getGeneralStatistics();
+
+        System.out.println();
+        System.out.printf("Taps:        %,d (%,d passed, %,d denied)%n", taps, totals.getTotalPasses(), totals.getTotalDenials());
+        System.out.printf("Throughput:  %,.0f taps/s%n", taps / elapsedSeconds);
+        System.out.printf("Allocation:  %,.1f MB/s, %,.1f bytes per tap%n",
+                allocatedBytes / elapsedSeconds / (1024 * 1024), taps > 0 ? (double) allocatedBytes / taps : 0);
+        printLatency("Response time (from schedule), us", response);
+        printLatency("Service time, us", service);
+
+        int windowMinutes = (int) Math.max(1, (durationNanos + 59_999_999_999L) / 60_000_000_000L);
+        System.out.println();
+        System.out.printf("By type, last %d min:%n", windowMinutes);
+        for (Map.Entry<String, TurnstileController.WindowStatistics> entry : controller.getStatisticsByType(windowMinutes).entrySet()) {
+            TurnstileController.WindowStatistics statistics = entry.getValue();
+            System.out.printf("  %-10s %,12d attempts  %6.2f%% passed%n",
+                    entry.getKey(), statistics.getTotalAttempts(), statistics.getSuccessRate());
+        }
+    }
+
+    private static void printLatency(String title, LatencyHistogram histogram) {
+        System.out.println();
+        System.out.println(title + ":");
+        System.out.printf("  mean   %10.2f%n", histogram.getMean() / 1000);
+        for (double percentile : PERCENTILES) {
+            System.out.printf("  p%-5s %10.2f%n", percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile),
+                    histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        System.out.printf("  max    %10.2f%n", histogram.getMaxValue() / 1000.0);
+    }
+
+    private static final class Worker {
+        private final TurnstileController controller;
+        private final String[] taps;
+        private final int turnstileId;
+        private final double peakRate;
+        private final long durationNanos;
+        private final Thread thread;
+        private final LatencyHistogram response = new LatencyHistogram();
+        private final LatencyHistogram service = new LatencyHistogram();
+        private long start;
+        private long allocatedBytes;
+
+        Worker(TurnstileController controller, String[] taps, int turnstileId, double peakRate, long durationNanos) {
+            this.controller = controller;
+            this.taps = taps;
+            this.turnstileId = turnstileId;
+            this.peakRate = peakRate;
+            this.durationNanos = durationNanos;
+            this.thread = new Thread(this::run, "turnstile-" + turnstileId);
+        }
+
+        private void run() {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            waitUntil(start);
+
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            int mask = taps.length - 1;
+            long scheduled = start;
+            for (int i = 0; ; i++) {
+                long now = System.nanoTime();
+                if (now - start >= durationNanos) {
+                    break;
+                }
+                if (peakRate > 0) {
+                    waitUntil(scheduled);
+                } else {
+                    scheduled = now;
+                }
+                long begin = System.nanoTime();
+                controller.validateCard(taps[i & mask], turnstileId);
+                long end = System.nanoTime();
+                response.record(end - scheduled);
+                service.record(end - begin);
+                if (peakRate > 0) {
+                    scheduled += intervalNanos(scheduled - start);
+                }
+            }
+            allocatedBytes = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+
+        // Time to the next tap at the rate for this point of the run: 30% of the peak at the edges, the peak in the middle
+        private long intervalNanos(long elapsed) {
+            double share = 0.3 + 0.7 * Math.sin(Math.PI * Math.min(1.0, (double) elapsed / durationNanos));
+            return Math.max(1, (long) (1e9 / (peakRate * share)));
+        }
+
+        // Parks while the wait is long and spins for the last stretch, which parking cannot hit precisely
+        private static void waitUntil(long deadline) {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                if (remaining > 100_000) {
+                    LockSupport.parkNanos(remaining - 50_000);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.benchmark;
+
+import org.example.controller.TurnstileController;
+import org.example.model.CardRegistry;
+import org.example.model.HeapCardRegistry;
+import org.example.model.OffHeapCardRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// validateCard over the rush hour tap mix of CardPopulation, and the statistics reads the view makes.
+// Cards never run out of trips or balance here, so the share of each result stays the same for the
+// whole run. Use -t to tap from several threads at once and -prof gc for allocation per operation.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TurnstileControllerBenchmark {
+    private static final int TAPS = 1 << 16;
+
+    @Param({"heap", "offheap"})
+    private String registry;
+
+    @Param({"100000"})
+    private int cards;
+
+    private TurnstileController controller;
+    private String[] taps;
+
+    @Setup
+    public void setUp() {
+        CardRegistry issuedCards = registry.equals("offheap") ? new OffHeapCardRegistry(cards) : new HeapCardRegistry();
+        controller = new TurnstileController(issuedCards);
+        CardPopulation population = new CardPopulation(cards);
+        population.issue(controller, Integer.MAX_VALUE, 1e9, 1);
+        taps = population.taps(TAPS, 2);
+        // Every type has counters and a filled window before the statistics are read
+        for (String id : taps) {
+            controller.validateCard(id);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Benchmark
+    public TurnstileController.ValidationResult validateCard(Cursor cursor) {
+        return controller.validateCard(taps[cursor.next++ & (TAPS - 1)]);
+    }
+
+    @Benchmark
+    public Map<String, TurnstileController.TypeStatistics> getStatisticsByType() {
+        return controller.getStatisticsByType();
+    }
+
+    @Benchmark
+    public Map<String, TurnstileController.WindowStatistics> getStatisticsByTypeLast15Minutes() {
+        return controller.getStatisticsByType(15);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example;
+
+import java.util.Arrays;
+
+// Which passengers a vehicle lets on at run time: instances of any of the admitted types. The generic
+// bounds only hold for code that keeps to them; this is checked for every boarding, raw types included.
+//
+// The answer for each passenger class is worked out once, the first time the class is seen, and kept as
+// two bits at the class's PassengerTypes number: "known" and "admitted". After that a check is a
+// ClassValue lookup and a bit test. The bits only ever get set, so the array is replaced under the lock
+// and read without it.
+public final class AdmissionPolicy {
+    public static final AdmissionPolicy ANYONE = new AdmissionPolicy(Person.class);
+    public static final AdmissionPolicy FIREFIGHTERS = new AdmissionPolicy(Firefighter.class);
+    public static final AdmissionPolicy POLICE_OFFICERS = new AdmissionPolicy(PoliceOfficer.class);
+
+    private final Class<?>[] admittedTypes;
+    private volatile long[] bits = new long[1];
+
+    private AdmissionPolicy(Class<?>... admittedTypes) {
+        this.admittedTypes = admittedTypes;
+    }
+
+    @SafeVarargs
+    public static AdmissionPolicy of(Class<? extends Person>... admittedTypes) {
+        if (admittedTypes.length == 0) {
+            throw new IllegalArgumentException("Policy must admit at least one type");
+        }
+        for (Class<? extends Person> type : admittedTypes) {
+            if (type == null) {
+                throw new NullPointerException("Admitted type cannot be null");
+            }
+        }
+        return new AdmissionPolicy(admittedTypes.clone());
+    }
+
+    // The policy that admits exactly the passengers of the type, reusing the constants where one fits
+    public static AdmissionPolicy forType(Class<? extends Person> type) {
+        if (type == Person.class) {
+            return ANYONE;
+        }
+        if (type == Firefighter.class) {
+            return FIREFIGHTERS;
+        }
+        if (type == PoliceOfficer.class) {
+            return POLICE_OFFICERS;
+        }
+        return of(type);
+    }
+
+    // True when every passenger this policy admits is an instance of the type
+    public boolean admitsOnly(Class<?> type) {
+        for (Class<?> admittedType : admittedTypes) {
+            if (!type.isAssignableFrom(admittedType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean admits(Person passenger) {
+        return passenger != null && admits(passenger.getClass());
+    }
+
+    public boolean admits(Class<?> type) {
+        int bit = PassengerTypes.idOf(type) * 2;
+        long[] current = bits;
+        int word = bit >>> 6;
+        if (word < current.length) {
+            long value = current[word];
+            if ((value & 1L << bit) != 0) {
+                return (value & 2L << bit) != 0;
+            }
+        }
+        return learn(type, bit);
+    }
+
+    private synchronized boolean learn(Class<?> type, int bit) {
+        boolean admitted = false;
+        for (Class<?> admittedType : admittedTypes) {
+            if (admittedType.isAssignableFrom(type)) {
+                admitted = true;
+                break;
+            }
+        }
+        int word = bit >>> 6;
+        long[] learned = Arrays.copyOf(bits, Math.max(bits.length, word + 1));
+        learned[word] |= (admitted ? 3L : 1L) << bit;
+        bits = learned;
+        return admitted;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("AdmissionPolicy{");
+        for (int i = 0; i < admittedTypes.length; i++) {
+            text.append(i == 0 ? "" : ", ").append(admittedTypes[i].getSimpleName());
+        }
+        return text.append('}').toString();
+    }
+}
\ No newline at end of file
@@ -4,4 +4,8 @@ public class Bus<T extends Person> extends Vehicle<T> {
     public Bus(int capacity) {
         super(capacity);
     }
+
+    public Bus(int capacity, Class<T> passengerType) {
+        super(capacity, passengerType);
+    }
 }
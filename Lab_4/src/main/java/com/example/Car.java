@@ -4,4 +4,12 @@ public class Car<T extends Person> extends Vehicle<T> {
     public Car(int capacity) {
         super(capacity);
     }
+
+    public Car(int capacity, Class<T> passengerType) {
+        super(capacity, passengerType);
+    }
+
+    protected Car(int capacity, Class<T> passengerType, AdmissionPolicy admissionPolicy) {
+        super(capacity, passengerType, admissionPolicy);
+    }
 }
@@ -2,6 +2,6 @@ package com.example;
 
 class FireTruck extends Car<Firefighter> {
     public FireTruck(int capacity) {
-        super(capacity);
+        super(capacity, Firefighter.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example;
+
+// Told about every passenger who boards (+1) or gets off (-1) a vehicle, and about a whole batch boarding
+// at once (+size). It runs on the boarding thread while the vehicle is locked, so it must be quick and
+// must not call back into the vehicle.
+@FunctionalInterface
+public interface OccupancyListener {
+    void occupancyChanged(Vehicle<?> vehicle, int delta);
+}
\ No newline at end of file
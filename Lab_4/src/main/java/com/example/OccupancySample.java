@@ -0,0 +1,89 @@
+package com.example;
+
+// How many people were on a road at one moment, in total and by the kind of vehicle carrying them.
+// capture() reads the road without locking it: the vehicles come from the copy-on-write list as it was
+// when the sample started, and each vehicle's occupancy is a single volatile read, so boarding never
+// waits for a sample. While people board, the counts of different vehicles may be a few changes apart.
+public class OccupancySample {
+    public static final int BUS = 0;
+    public static final int TAXI = 1;
+    public static final int FIRE_TRUCK = 2;
+    public static final int POLICE_CAR = 3;
+    public static final int OTHER = 4;
+    public static final int VEHICLE_TYPES = 5;
+
+    // Worked out once per vehicle class
+    private static final ClassValue<Integer> typeOf = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            if (FireTruck.class.isAssignableFrom(type)) {
+                return FIRE_TRUCK;
+            }
+            if (PoliceCar.class.isAssignableFrom(type)) {
+                return POLICE_CAR;
+            }
+            if (Taxi.class.isAssignableFrom(type)) {
+                return TAXI;
+            }
+            if (Bus.class.isAssignableFrom(type)) {
+                return BUS;
+            }
+            return OTHER;
+        }
+    };
+
+    private final long timeMillis;
+    private final long humans;
+    private final long vehicles;
+    private final long[] occupancyByType;
+
+    public OccupancySample(long timeMillis, long humans, long vehicles, long[] occupancyByType) {
+        if (occupancyByType.length != VEHICLE_TYPES) {
+            throw new IllegalArgumentException("Expected " + VEHICLE_TYPES + " vehicle types: " + occupancyByType.length);
+        }
+        this.timeMillis = timeMillis;
+        this.humans = humans;
+        this.vehicles = vehicles;
+        this.occupancyByType = occupancyByType.clone();
+    }
+
+    public static OccupancySample capture(Road road, long timeMillis) {
+        long[] occupancyByType = new long[VEHICLE_TYPES];
+        long vehicles = 0;
+        for (Vehicle<? extends Person> vehicle : road.getCarsOnRoad()) {
+            occupancyByType[typeOf(vehicle)] += vehicle.getOccupiedSeats();
+            vehicles++;
+        }
+        return new OccupancySample(timeMillis, road.getCountOfHumans(), vehicles, occupancyByType);
+    }
+
+    public static int typeOf(Vehicle<?> vehicle) {
+        return typeOf.get(vehicle.getClass());
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    // Road.getCountOfHumans() at the time of the sample
+    public long getHumans() {
+        return humans;
+    }
+
+    public long getVehicles() {
+        return vehicles;
+    }
+
+    // People in vehicles of the type, one of BUS, TAXI, FIRE_TRUCK, POLICE_CAR and OTHER
+    public long getOccupancy(int vehicleType) {
+        return occupancyByType[vehicleType];
+    }
+
+    @Override
+    public String toString() {
+        return "OccupancySample{time=" + timeMillis + ", humans=" + humans + ", vehicles=" + vehicles +
+                ", bus=" + occupancyByType[BUS] + ", taxi=" + occupancyByType[TAXI] +
+                ", fireTruck=" + occupancyByType[FIRE_TRUCK] + ", policeCar=" + occupancyByType[POLICE_CAR] +
+                ", other=" + occupancyByType[OTHER] + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Samples the occupancy of a road periodically on a background thread and appends the samples to an
+// OccupancyTimeSeries file. Sampling never locks the road or its vehicles (see OccupancySample), so the
+// threads boarding people are not slowed down by it.
+// A failed write leaves the file unusable past the last whole sample, so the sampler stops there: the
+// file is closed and every later sample() throws. Scheduled sampling also stops at any other failure.
+public class OccupancySampler implements AutoCloseable {
+    private final Road road;
+    private final LongSupplier clockMillis;
+    private final OccupancyTimeSeries.Writer writer;
+    private ScheduledExecutorService scheduler;
+    private long samples;
+    private boolean closed;
+    private Exception failure;
+
+    public OccupancySampler(Road road, Path file) throws IOException {
+        this(road, file, System::currentTimeMillis);
+    }
+
+    // clockMillis stamps the samples, e.g. with simulated time
+    public OccupancySampler(Road road, Path file, LongSupplier clockMillis) throws IOException {
+        if (road == null || clockMillis == null) {
+            throw new NullPointerException("Road and clock cannot be null");
+        }
+        this.road = road;
+        this.clockMillis = clockMillis;
+        this.writer = new OccupancyTimeSeries.Writer(file);
+    }
+
+    // Takes a sample every period until the sampler is closed; the first one right away
+    public synchronized void start(Duration period) {
+        if (closed) {
+            throw new IllegalStateException("Sampler is closed");
+        }
+        if (scheduler != null) {
+            throw new IllegalStateException("Sampler is already started");
+        }
+        if (period == null) {
+            throw new NullPointerException("Period cannot be null");
+        }
+        long millis = period.toMillis();
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Sampling period must be at least one millisecond");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "road-occupancy-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sampleOnSchedule, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    // Takes a sample now, writes it and flushes it, so the file can be read while sampling goes on
+    public synchronized OccupancySample sample() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Sampler is closed");
+        }
+        if (failure != null) {
+            throw new IOException("Sampling stopped after a failed write", failure);
+        }
+        OccupancySample sample = OccupancySample.capture(road, clockMillis.getAsLong());
+        try {
+            writer.write(sample);
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            try {
+                writer.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        samples++;
+        return sample;
+    }
+
+    // A run that finds the sampler closed does nothing; one that fails stops the schedule
+    private synchronized void sampleOnSchedule() {
+        if (closed) {
+            return;
+        }
+        try {
+            sample();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Road occupancy sampling stopped: " + e);
+            scheduler.shutdown();
+        }
+    }
+
+    public synchronized long getSampleCount() {
+        return samples;
+    }
+
+    // Stops sampling and closes the file
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService scheduled;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            scheduled = scheduler;
+        }
+        if (scheduled != null) {
+            scheduled.shutdown();
+            try {
+                scheduled.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (failure == null) {
+                writer.close();
+            }
+        }
+    }
+}
\ No newline at end of file
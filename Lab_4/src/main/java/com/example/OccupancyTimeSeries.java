@@ -0,0 +1,170 @@
+package com.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+// A file of OccupancySamples that is written and read one sample at a time, so neither side holds the
+// series in memory. After a header (magic and column count) every sample is its columns'
+// differences from the previous sample: time, humans, vehicles and the occupancy of each vehicle type.
+// Each difference is zigzag-encoded and written in 7-bit groups, so a sample of a road where little
+// changed takes about one byte per column. A sample cut short at the end of the file is ignored.
+public final class OccupancyTimeSeries {
+    private static final int MAGIC = 0x4F434331; // "OCC1"
+    private static final int COLUMNS = 3 + OccupancySample.VEHICLE_TYPES;
+
+    private OccupancyTimeSeries() {
+    }
+
+    // Reads the samples in order; returns how many there were
+    public static long read(Path file, Consumer<OccupancySample> consumer) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            if (readInt(in) != MAGIC) {
+                throw new IOException("Not an occupancy time series: " + file);
+            }
+            int columns = in.read();
+            if (columns != COLUMNS) {
+                throw new IOException("Unsupported column count " + columns + " in " + file);
+            }
+            long[] values = new long[COLUMNS];
+            long[] next = new long[COLUMNS];
+            long count = 0;
+            while (true) {
+                try {
+                    int first = in.read();
+                    if (first < 0) {
+                        return count;
+                    }
+                    next[0] = values[0] + decode(readVarLong(in, first));
+                    for (int i = 1; i < COLUMNS; i++) {
+                        next[i] = values[i] + decode(readVarLong(in, in.read()));
+                    }
+                } catch (EOFException e) {
+                    return count;
+                }
+                System.arraycopy(next, 0, values, 0, COLUMNS);
+                long[] occupancyByType = new long[OccupancySample.VEHICLE_TYPES];
+                System.arraycopy(values, 3, occupancyByType, 0, occupancyByType.length);
+                consumer.accept(new OccupancySample(values[0], values[1], values[2], occupancyByType));
+                count++;
+            }
+        }
+    }
+
+    // Appends samples to a new file; the previous sample's columns are kept to take the differences from
+    public static final class Writer implements AutoCloseable {
+        private final OutputStream out;
+        private final long[] previous = new long[COLUMNS];
+        private final long[] values = new long[COLUMNS];
+        // After a failed write part of a record may be buffered, so nothing more is written
+        private IOException failure;
+
+        public Writer(Path file) throws IOException {
+            this.out = new BufferedOutputStream(Files.newOutputStream(file));
+            writeInt(out, MAGIC);
+            out.write(COLUMNS);
+        }
+
+        public void write(OccupancySample sample) throws IOException {
+            checkNotFailed();
+            values[0] = sample.getTimeMillis();
+            values[1] = sample.getHumans();
+            values[2] = sample.getVehicles();
+            for (int type = 0; type < OccupancySample.VEHICLE_TYPES; type++) {
+                values[3 + type] = sample.getOccupancy(type);
+            }
+            try {
+                for (int i = 0; i < COLUMNS; i++) {
+                    writeVarLong(out, encode(values[i] - previous[i]));
+                    previous[i] = values[i];
+                }
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+        }
+
+        // Makes everything written so far readable from the file
+        public void flush() throws IOException {
+            checkNotFailed();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+        }
+
+        private void checkNotFailed() throws IOException {
+            if (failure != null) {
+                throw new IOException("Occupancy time series cannot be written after a failed write", failure);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static long encode(long delta) {
+        return (delta << 1) ^ (delta >> 63);
+    }
+
+    private static long decode(long zigzag) {
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in, int first) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b = first;
+        while (true) {
+            if (b < 0) {
+                throw new EOFException();
+            }
+            if (shift > 63) {
+                throw new IOException("Malformed occupancy time series");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            b = in.read();
+        }
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static int readInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value = value << 8 | b;
+        }
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// Numbers every passenger class the first time it is seen, so an AdmissionPolicy can answer from a bitset
+// indexed by that number instead of checking the class on every boarding. It also knows the passenger
+// types by name, so crews read from a file can be created without reflection.
+public final class PassengerTypes {
+    private static final AtomicInteger nextId = new AtomicInteger();
+    private static final ClassValue<Integer> ids = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return nextId.getAndIncrement();
+        }
+    };
+    private static final Map<String, Function<String, ? extends Person>> factories = new ConcurrentHashMap<>();
+
+    static {
+        register("Person", Person::new);
+        register("Firefighter", Firefighter::new);
+        register("PoliceOfficer", PoliceOfficer::new);
+    }
+
+    private PassengerTypes() {
+    }
+
+    // The class's number; it never changes, and numbers are small and dense
+    public static int idOf(Class<?> type) {
+        return ids.get(type);
+    }
+
+    // Lets create() make passengers of the type; returns false when the name is already taken
+    public static boolean register(String typeName, Function<String, ? extends Person> factory) {
+        if (typeName == null || factory == null) {
+            throw new NullPointerException("Type name and factory cannot be null");
+        }
+        return factories.putIfAbsent(typeName, factory) == null;
+    }
+
+    public static boolean isRegistered(String typeName) {
+        return factories.containsKey(typeName);
+    }
+
+    public static Person create(String typeName, String name) {
+        Function<String, ? extends Person> factory = factories.get(typeName);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown passenger type: " + typeName);
+        }
+        return factory.apply(name);
+    }
+}
\ No newline at end of file
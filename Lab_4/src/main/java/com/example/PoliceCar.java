@@ -2,6 +2,6 @@ package com.example;
 
 class PoliceCar extends Car<PoliceOfficer> {
     public PoliceCar(int capacity) {
-        super(capacity);
+        super(capacity, PoliceOfficer.class);
     }
 }
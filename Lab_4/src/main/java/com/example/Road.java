@@ -1,27 +1,173 @@
 package com.example;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
+// Safe to use from many threads: vehicles join and leave under the road's lock, and people board them
+// concurrently. The road listens to the occupancy of each of its vehicles and adds every change to a
+// striped LongAdder, so getCountOfHumans() is a single read instead of a pass over all vehicles.
+// carsOnRoad stays a modifiable List for existing callers: every change to it, through any method or its
+// iterators, is made under the road's lock and updates the count. Its iterators walk a snapshot.
 public class Road {
-    public List<Vehicle<? extends Person>> carsOnRoad = new ArrayList<>();
+    public final List<Vehicle<? extends Person>> carsOnRoad = new CarsOnRoad();
 
+    private final CopyOnWriteArrayList<Vehicle<? extends Person>> vehicles = new CopyOnWriteArrayList<>();
+    private final LongAdder humans = new LongAdder();
+    private final OccupancyListener occupancy = (vehicle, delta) -> humans.add(delta);
+
+    // While boarding goes on, the count includes every change that finished before the call
     public int getCountOfHumans() {
-        int total = 0;
-        for (Vehicle<? extends Person> vehicle : carsOnRoad) {
-            total += vehicle.getOccupiedSeats();
-        }
-        return total;
+        return humans.intValue();
     }
 
     public void addCarToRoad(Vehicle<? extends Person> vehicle) {
         if (vehicle == null) {
             throw new NullPointerException("Vehicle cannot be null");
         }
-        carsOnRoad.add(vehicle);
+        synchronized (this) {
+            join(vehicle);
+            vehicles.add(vehicle);
+        }
     }
 
+    // Returns false when the vehicle is not on the road
+    public synchronized boolean removeCarFromRoad(Vehicle<? extends Person> vehicle) {
+        if (!vehicles.remove(vehicle)) {
+            return false;
+        }
+        leave(vehicle);
+        return true;
+    }
+
+    // Read-only and live; iterating it sees the vehicles as they were when the iteration started
     public List<Vehicle<? extends Person>> getCarsOnRoad() {
-        return new ArrayList<>(carsOnRoad);
+        return Collections.unmodifiableList(vehicles);
+    }
+
+    private void join(Vehicle<? extends Person> vehicle) {
+        humans.add(vehicle.addOccupancyListener(occupancy));
+    }
+
+    private void leave(Vehicle<? extends Person> vehicle) {
+        humans.add(-vehicle.removeOccupancyListener(occupancy));
+    }
+
+    private final class CarsOnRoad extends AbstractList<Vehicle<? extends Person>> {
+        @Override
+        public Vehicle<? extends Person> get(int index) {
+            return vehicles.get(index);
+        }
+
+        @Override
+        public int size() {
+            return vehicles.size();
+        }
+
+        @Override
+        public boolean add(Vehicle<? extends Person> vehicle) {
+            addCarToRoad(vehicle);
+            return true;
+        }
+
+        @Override
+        public void add(int index, Vehicle<? extends Person> vehicle) {
+            if (vehicle == null) {
+                throw new NullPointerException("Vehicle cannot be null");
+            }
+            synchronized (Road.this) {
+                if (index < 0 || index > vehicles.size()) {
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + vehicles.size());
+                }
+                join(vehicle);
+                vehicles.add(index, vehicle);
+            }
+        }
+
+        @Override
+        public Vehicle<? extends Person> set(int index, Vehicle<? extends Person> vehicle) {
+            if (vehicle == null) {
+                throw new NullPointerException("Vehicle cannot be null");
+            }
+            synchronized (Road.this) {
+                Vehicle<? extends Person> replaced = vehicles.get(index);
+                join(vehicle);
+                vehicles.set(index, vehicle);
+                leave(replaced);
+                return replaced;
+            }
+        }
+
+        @Override
+        public Vehicle<? extends Person> remove(int index) {
+            synchronized (Road.this) {
+                Vehicle<? extends Person> vehicle = vehicles.remove(index);
+                leave(vehicle);
+                return vehicle;
+            }
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof Vehicle<?> vehicle && removeCarFromRoad(vehicle);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Vehicle<? extends Person>> filter) {
+            synchronized (Road.this) {
+                boolean removed = false;
+                for (Vehicle<? extends Person> vehicle : vehicles) {
+                    if (filter.test(vehicle)) {
+                        vehicles.remove(vehicle);
+                        leave(vehicle);
+                        removed = true;
+                    }
+                }
+                return removed;
+            }
+        }
+
+        @Override
+        public void clear() {
+            synchronized (Road.this) {
+                for (Vehicle<? extends Person> vehicle : vehicles) {
+                    leave(vehicle);
+                }
+                vehicles.clear();
+            }
+        }
+
+        // Walks the vehicles as they were when it was created; remove() takes the last one off the road
+        @Override
+        public Iterator<Vehicle<? extends Person>> iterator() {
+            Iterator<Vehicle<? extends Person>> snapshot = vehicles.iterator();
+            return new Iterator<>() {
+                private Vehicle<? extends Person> last;
+
+                @Override
+                public boolean hasNext() {
+                    return snapshot.hasNext();
+                }
+
+                @Override
+                public Vehicle<? extends Person> next() {
+                    last = snapshot.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException("next() has not been called");
+                    }
+                    removeCarFromRoad(last);
+                    last = null;
+                }
+            };
+        }
     }
 }
\ No newline at end of file
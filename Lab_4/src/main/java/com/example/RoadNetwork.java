@@ -0,0 +1,66 @@
+package com.example;
+
+import java.util.SplittableRandom;
+
+// The road graph a TrafficSimulation runs on. Every segment is a Road with a stop at its end and a
+// travel time; segments form a ring with a few random extra links, so any segment can be reached from
+// any other. The same seed always gives the same network.
+public class RoadNetwork {
+    public static final int MIN_TRAVEL_SECONDS = 30;
+    private static final int MAX_TRAVEL_SECONDS = 300;
+    private static final int EXTRA_EXITS = 2;
+
+    private final Road[] roads;
+    private final int[] travelSeconds;
+    private final int[][] exits;
+
+    public RoadNetwork(int segments, long seed) {
+        if (segments < 2) {
+            throw new IllegalArgumentException("Road network needs at least 2 segments: " + segments);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        this.roads = new Road[segments];
+        this.travelSeconds = new int[segments];
+        this.exits = new int[segments][];
+        for (int segment = 0; segment < segments; segment++) {
+            roads[segment] = new Road();
+            travelSeconds[segment] = random.nextInt(MIN_TRAVEL_SECONDS, MAX_TRAVEL_SECONDS + 1);
+            int[] segmentExits = new int[1 + EXTRA_EXITS];
+            segmentExits[0] = (segment + 1) % segments;
+            for (int i = 1; i < segmentExits.length; i++) {
+                int exit = random.nextInt(segments - 1);
+                segmentExits[i] = exit >= segment ? exit + 1 : exit;
+            }
+            exits[segment] = segmentExits;
+        }
+    }
+
+    public int getSegmentCount() {
+        return roads.length;
+    }
+
+    public Road getRoad(int segment) {
+        return roads[segment];
+    }
+
+    public int getTravelSeconds(int segment) {
+        return travelSeconds[segment];
+    }
+
+    public int getExitCount(int segment) {
+        return exits[segment].length;
+    }
+
+    public int getExit(int segment, int exit) {
+        return exits[segment][exit];
+    }
+
+    // Everyone on board a vehicle on any segment
+    public long getCountOfHumans() {
+        long total = 0;
+        for (Road road : roads) {
+            total += road.getCountOfHumans();
+        }
+        return total;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example;
+
+// Runs a TrafficSimulation and prints how fast it went.
+// Usage: SimulationMain [segments] [people] [buses] [taxis] [fire trucks] [police cars] [hours] [threads]
+public class SimulationMain {
+    public static void main(String[] args) {
+        int segments = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int people = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        int buses = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+        int taxis = args.length > 3 ? Integer.parseInt(args[3]) : 200_000;
+        int fireTrucks = args.length > 4 ? Integer.parseInt(args[4]) : 2_000;
+        int policeCars = args.length > 5 ? Integer.parseInt(args[5]) : 10_000;
+        int hours = args.length > 6 ? Integer.parseInt(args[6]) : 1;
+        int threads = args.length > 7 ? Integer.parseInt(args[7]) : Runtime.getRuntime().availableProcessors();
+        long seed = 42;
+
+        long buildStart = System.nanoTime();
+        RoadNetwork network = new RoadNetwork(segments, seed);
+        TrafficSimulation simulation = new TrafficSimulation(network, people, buses, taxis, fireTrucks, policeCars, seed);
+        System.out.printf("Built %,d segments, %,d people and %,d vehicles in %,d ms%n", segments, simulation.getPopulation(),
+                buses + taxis + fireTrucks + policeCars, (System.nanoTime() - buildStart) / 1_000_000);
+
+        TrafficSimulation.Report report = simulation.run(hours * 3600, threads);
+        System.out.printf("Simulated %d h on %d threads in %,d ms%n", hours, threads, report.getWallNanos() / 1_000_000);
+        System.out.printf("Events:      %,d (%,.0f events/s)%n", report.getEvents(), report.getEventsPerSecond());
+        System.out.printf("Boardings:   %,d%n", report.getBoardings());
+        System.out.printf("Alightings:  %,d%n", report.getAlightings());
+        System.out.printf("Waiting:     %,d%n", simulation.getWaiting());
+        System.out.printf("On the road: %,d%n", network.getCountOfHumans());
+    }
+}
\ No newline at end of file
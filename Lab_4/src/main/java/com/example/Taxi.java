@@ -4,4 +4,8 @@ public class Taxi<T extends Person> extends Car<T>  {
     public Taxi(int capacity) {
         super(capacity);
     }
+
+    public Taxi(int capacity, Class<T> passengerType) {
+        super(capacity, passengerType);
+    }
 }
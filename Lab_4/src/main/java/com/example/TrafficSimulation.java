@@ -0,0 +1,403 @@
+package com.example;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Discrete-event simulation of a fleet driving around a RoadNetwork. The only event is a vehicle
+// reaching the stop at the end of its segment: there buses and taxis let people off and take waiting
+// people on, then the vehicle picks an exit, moves to that segment's Road and is scheduled to arrive
+// after the segment's travel time. Fire trucks and police cars keep their crews and just drive.
+//
+// Segments are split into partitions, each with its own time-ordered event heap. Time advances in
+// windows of RoadNetwork.MIN_TRAVEL_SECONDS: no event can schedule another inside its own window, so
+// all partitions process a window in parallel on a work-stealing ForkJoinPool and only exchange the
+// events for other partitions at the end of it. Events are ordered by time and then vehicle number and
+// every random choice is a hash of the seed, vehicle and time, so a seed gives the same run on any
+// number of threads.
+public class TrafficSimulation {
+    public static final int DEFAULT_PARTITIONS = 64;
+    private static final int BUS_CAPACITY = 60;
+    private static final int TAXI_CAPACITY = 4;
+    private static final int FIRE_TRUCK_CREW = 6;
+    private static final int POLICE_CAR_CREW = 2;
+    private static final int MAX_BOARDING_PER_STOP = 20;
+    private static final double BUS_ALIGHTING_CHANCE = 0.2;
+
+    private final RoadNetwork network;
+    private final long seed;
+    private final Vehicle<?>[] fleet;
+    // The same vehicles as fleet where they carry passengers, null for fire trucks and police cars
+    private final Vehicle<Person>[] carriers;
+    private final int[] segmentOf;
+    private final ArrayDeque<Person>[] waiting;
+    private final Partition[] partitions;
+    private final int population;
+    private int now;
+    private long events;
+    private long boardings;
+    private long alightings;
+
+    // people wait at random stops; crews are added on top of them
+    @SuppressWarnings("unchecked")
+    public TrafficSimulation(RoadNetwork network, int people, int buses, int taxis, int fireTrucks, int policeCars, long seed) {
+        this.network = network;
+        this.seed = seed;
+        int segments = network.getSegmentCount();
+        int vehicles = buses + taxis + fireTrucks + policeCars;
+        this.fleet = new Vehicle<?>[vehicles];
+        this.carriers = (Vehicle<Person>[]) new Vehicle<?>[vehicles];
+        this.segmentOf = new int[vehicles];
+        this.waiting = (ArrayDeque<Person>[]) new ArrayDeque<?>[segments];
+        for (int segment = 0; segment < segments; segment++) {
+            waiting[segment] = new ArrayDeque<>();
+        }
+        this.partitions = new Partition[Math.min(segments, DEFAULT_PARTITIONS)];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i);
+        }
+
+        for (int i = 0; i < people; i++) {
+            waiting[(int) Long.remainderUnsigned(hash(seed, -1, i), segments)].addLast(new Person("Person" + i));
+        }
+        int v = 0;
+        for (int i = 0; i < buses; i++, v++) {
+            Bus<Person> bus = new Bus<>(BUS_CAPACITY);
+            fleet[v] = bus;
+            carriers[v] = bus;
+        }
+        for (int i = 0; i < taxis; i++, v++) {
+            Taxi<Person> taxi = new Taxi<>(TAXI_CAPACITY);
+            fleet[v] = taxi;
+            carriers[v] = taxi;
+        }
+        for (int i = 0; i < fireTrucks; i++, v++) {
+            FireTruck truck = new FireTruck(FIRE_TRUCK_CREW);
+            for (int crew = 0; crew < FIRE_TRUCK_CREW; crew++) {
+                truck.boardPassenger(new Firefighter("Firefighter" + i + "-" + crew));
+            }
+            fleet[v] = truck;
+        }
+        for (int i = 0; i < policeCars; i++, v++) {
+            PoliceCar car = new PoliceCar(POLICE_CAR_CREW);
+            for (int crew = 0; crew < POLICE_CAR_CREW; crew++) {
+                car.boardPassenger(new PoliceOfficer("Officer" + i + "-" + crew));
+            }
+            fleet[v] = car;
+        }
+        this.population = people + fireTrucks * FIRE_TRUCK_CREW + policeCars * POLICE_CAR_CREW;
+
+        // Every vehicle starts somewhere along a random segment
+        for (v = 0; v < vehicles; v++) {
+            int segment = (int) Long.remainderUnsigned(hash(seed, v, -1), segments);
+            segmentOf[v] = segment;
+            network.getRoad(segment).addCarToRoad(fleet[v]);
+            int arrival = (int) Long.remainderUnsigned(hash(seed, v, -2), network.getTravelSeconds(segment));
+            partitionOf(segment).events.add(event(arrival, v));
+        }
+    }
+
+    // Simulates the next simulatedSeconds on parallelism threads; may be called again to go on
+    public Report run(int simulatedSeconds, int parallelism) {
+        int until = Math.addExact(now, simulatedSeconds);
+        long eventsBefore = events;
+        long boardingsBefore = boardings;
+        long alightingsBefore = alightings;
+        long start = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Callable<Void>> process = new ArrayList<>(Arrays.asList(partitions));
+            List<Callable<Void>> exchange = new ArrayList<>();
+            for (Partition partition : partitions) {
+                exchange.add(partition::collectInbox);
+            }
+            int windowStart = now;
+            while (windowStart < until) {
+                // Idle stretches are skipped: the next window starts at the earliest pending event
+                windowStart = Math.max(windowStart, earliestEvent());
+                if (windowStart >= until) {
+                    break;
+                }
+                int windowEnd = (int) Math.min(until, (long) windowStart + RoadNetwork.MIN_TRAVEL_SECONDS);
+                for (Partition partition : partitions) {
+                    partition.windowEnd = windowEnd;
+                }
+                invokeAll(pool, process);
+                invokeAll(pool, exchange);
+                windowStart = windowEnd;
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        now = until;
+        for (Partition partition : partitions) {
+            events += partition.processed;
+            boardings += partition.boardings;
+            alightings += partition.alightings;
+            partition.processed = 0;
+            partition.boardings = 0;
+            partition.alightings = 0;
+        }
+        return new Report(simulatedSeconds, System.nanoTime() - start,
+                events - eventsBefore, boardings - boardingsBefore, alightings - alightingsBefore);
+    }
+
+    public int getSimulatedSeconds() {
+        return now;
+    }
+
+    public int getPopulation() {
+        return population;
+    }
+
+    public int getWaitingAt(int segment) {
+        return waiting[segment].size();
+    }
+
+    public long getWaiting() {
+        long total = 0;
+        for (ArrayDeque<Person> queue : waiting) {
+            total += queue.size();
+        }
+        return total;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public long getBoardings() {
+        return boardings;
+    }
+
+    public long getAlightings() {
+        return alightings;
+    }
+
+    // Rethrows the first failure, which the pool would otherwise keep in its future
+    private static void invokeAll(ForkJoinPool pool, List<Callable<Void>> tasks) {
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Simulation was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Simulation step failed", e.getCause());
+            }
+        }
+    }
+
+    private int earliestEvent() {
+        long earliest = Long.MAX_VALUE;
+        for (Partition partition : partitions) {
+            if (!partition.events.isEmpty()) {
+                earliest = Math.min(earliest, partition.events.peek());
+            }
+        }
+        return earliest == Long.MAX_VALUE ? Integer.MAX_VALUE : time(earliest);
+    }
+
+    private Partition partitionOf(int segment) {
+        return partitions[segment % partitions.length];
+    }
+
+    // An event is the arrival time in the high half and the vehicle in the low half, so the heap
+    // orders arrivals by time and then by vehicle number
+    private static long event(int time, int vehicle) {
+        return (long) time << 32 | vehicle;
+    }
+
+    private static int time(long event) {
+        return (int) (event >>> 32);
+    }
+
+    // SplitMix64 finalizer over the seed and two coordinates
+    private static long hash(long seed, long a, long b) {
+        long z = seed + a * 0x9E3779B97F4A7C15L + b * 0xC2B2AE3D27D4EB4FL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double chance(long hash) {
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    // The segments with index % partitions.length == this partition's index, and their events
+    private final class Partition implements Callable<Void> {
+        private final int index;
+        private final EventHeap events = new EventHeap();
+        private final EventHeap[] outbox = new EventHeap[partitions.length];
+        private int windowEnd;
+        private long processed;
+        private long boardings;
+        private long alightings;
+
+        Partition(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Void call() {
+            while (!events.isEmpty() && time(events.peek()) < windowEnd) {
+                arrive(events.poll());
+            }
+            return null;
+        }
+
+        // Takes the events other partitions scheduled here during the window
+        Void collectInbox() {
+            for (Partition source : partitions) {
+                EventHeap inbox = source.outbox[index];
+                if (inbox != null) {
+                    inbox.drainTo(events);
+                }
+            }
+            return null;
+        }
+
+        private void arrive(long event) {
+            int time = time(event);
+            int vehicle = (int) event;
+            int segment = segmentOf[vehicle];
+            if (carriers[vehicle] != null) {
+                stop(carriers[vehicle], vehicle, segment, time);
+            }
+
+            int exit = (int) Long.remainderUnsigned(hash(seed, vehicle, time), network.getExitCount(segment));
+            int next = network.getExit(segment, exit);
+            network.getRoad(segment).removeCarFromRoad(fleet[vehicle]);
+            network.getRoad(next).addCarToRoad(fleet[vehicle]);
+            segmentOf[vehicle] = next;
+
+            // Always at or after windowEnd, so it can go straight into this partition's heap
+            long arrival = event(time + network.getTravelSeconds(next), vehicle);
+            int target = next % partitions.length;
+            if (target == index) {
+                events.add(arrival);
+            } else {
+                if (outbox[target] == null) {
+                    outbox[target] = new EventHeap();
+                }
+                outbox[target].add(arrival);
+            }
+            processed++;
+        }
+
+        // Walks the passengers from the end of the packed view, so the one moved into a leaving
+        // passenger's place has already been looked at
+        private void stop(Vehicle<Person> carrier, int vehicle, int segment, int time) {
+            ArrayDeque<Person> queue = waiting[segment];
+            boolean taxi = carrier instanceof Taxi;
+            double alighting = taxi ? 1.0 : BUS_ALIGHTING_CHANCE;
+            List<Person> onBoard = carrier.getPassengersView();
+            for (int i = onBoard.size() - 1; i >= 0; i--) {
+                if (chance(hash(seed ^ time, vehicle, i)) < alighting) {
+                    Person passenger = onBoard.get(i);
+                    carrier.disembarkPassenger(passenger);
+                    queue.addLast(passenger);
+                    alightings++;
+                }
+            }
+
+            // A taxi takes one fare of up to three people; the ones who just got off queue behind the others
+            int limit = taxi ? 1 + (int) Long.remainderUnsigned(hash(seed, vehicle, ~time), 3) : MAX_BOARDING_PER_STOP;
+            int toBoard = Math.min(limit, Math.min(carrier.getMaxCapacity() - carrier.getOccupiedSeats(), queue.size()));
+            for (int i = 0; i < toBoard; i++) {
+                carrier.boardPassenger(queue.pollFirst());
+                boardings++;
+            }
+        }
+    }
+
+    // Binary min-heap of events in a long array, so scheduling allocates nothing once it has grown
+    private static final class EventHeap {
+        private long[] heap = new long[16];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void add(long event) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= event) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = event;
+        }
+
+        long poll() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+
+        void drainTo(EventHeap target) {
+            for (int i = 0; i < size; i++) {
+                target.add(heap[i]);
+            }
+            size = 0;
+        }
+    }
+
+    public static class Report {
+        private final int simulatedSeconds;
+        private final long wallNanos;
+        private final long events;
+        private final long boardings;
+        private final long alightings;
+
+        public Report(int simulatedSeconds, long wallNanos, long events, long boardings, long alightings) {
+            this.simulatedSeconds = simulatedSeconds;
+            this.wallNanos = wallNanos;
+            this.events = events;
+            this.boardings = boardings;
+            this.alightings = alightings;
+        }
+
+        public int getSimulatedSeconds() { return simulatedSeconds; }
+        public long getWallNanos() { return wallNanos; }
+        public long getEvents() { return events; }
+        public long getBoardings() { return boardings; }
+        public long getAlightings() { return alightings; }
+
+        public double getEventsPerSecond() {
+            return wallNanos > 0 ? events * 1e9 / wallNanos : 0;
+        }
+    }
+}
\ No newline at end of file
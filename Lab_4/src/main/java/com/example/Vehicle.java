@@ -1,15 +1,73 @@
 package com.example;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
+// Passengers sit in numbered seats and keep their seat until they get off. A passenger is found by
+// identity in a seat index, so boarding, disembarking and isOnBoard() take constant time however big
+// the vehicle is. Besides the seats, passengers are kept packed in one array (a leaving passenger's
+// place is taken by the last one), which backs the read-only view returned by getPassengersView().
+// Arrays grow with the number of people on board, not with the capacity.
+// Boarding and disembarking lock the vehicle, so many threads can use it at once; each change is passed
+// to the OccupancyListeners, which is how a Road keeps its head count without asking every vehicle.
+// Every passenger must also pass the vehicle's AdmissionPolicy, which catches what raw types let through.
+// A vehicle created with its passenger type gets a policy that admits only that type, which is what lets
+// boardPassengers() take passengers whose type is not known until run time.
 public class Vehicle<T extends Person> {
+    private static final int INITIAL_SEATS = 8;
+    private static final ClassValue<String> typeNames = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return type.getSimpleName();
+        }
+    };
+
     private final int maxCapacity;
-    private final List<T> passengers;
+    private final AdmissionPolicy admissionPolicy;
+    // Null when the vehicle was created without its passenger type
+    private final Class<T> passengerType;
+    private final Map<T, Integer> seatOf = new IdentityHashMap<>();
+    private Object[] seats = new Object[0];
+    private int[] packedIndexOfSeat = new int[0];
+    private Object[] packed = new Object[0];
+    private volatile int occupied;
+    // Seats below nextNewSeat have been used; freed ones are reused from the stack first
+    private int nextNewSeat;
+    private int[] freeSeats = new int[0];
+    private int freeCount;
+    private final List<T> passengersView = new PassengersView();
+    private volatile OccupancyListener[] listeners = new OccupancyListener[0];
 
     public Vehicle(int maxCapacity) {
         this.maxCapacity = maxCapacity;
-        this.passengers = new ArrayList<>();
+        this.admissionPolicy = AdmissionPolicy.ANYONE;
+        this.passengerType = null;
+    }
+
+    public Vehicle(int maxCapacity, Class<T> passengerType) {
+        this(maxCapacity, passengerType, AdmissionPolicy.forType(passengerType));
+    }
+
+    // The policy may be narrower than the passenger type but must not admit anything else
+    protected Vehicle(int maxCapacity, Class<T> passengerType, AdmissionPolicy admissionPolicy) {
+        if (passengerType == null) {
+            throw new NullPointerException("Passenger type cannot be null");
+        }
+        if (admissionPolicy == null) {
+            throw new NullPointerException("Admission policy cannot be null");
+        }
+        if (!admissionPolicy.admitsOnly(passengerType)) {
+            throw new IllegalArgumentException(admissionPolicy + " admits passengers that are not " +
+                    passengerType.getSimpleName());
+        }
+        this.maxCapacity = maxCapacity;
+        this.admissionPolicy = admissionPolicy;
+        this.passengerType = passengerType;
     }
 
     public int getMaxCapacity() {
@@ -17,41 +75,235 @@ public class Vehicle<T extends Person> {
     }
 
     public int getOccupiedSeats() {
-        return passengers.size();
+        return occupied;
+    }
+
+    public AdmissionPolicy getAdmissionPolicy() {
+        return admissionPolicy;
     }
 
-    public void boardPassenger(T passenger) {
+    public synchronized void boardPassenger(T passenger) {
         if (passenger == null) {
             throw new NullPointerException("Passenger cannot be null");
         }
-        if (passengers.contains(passenger)) {
-            throw new IllegalStateException("Passenger " + passenger.getName() +
-                    " is already in " + getClass().getSimpleName());
+        checkAdmitted(passenger);
+        if (seatOf.containsKey(passenger)) {
+            throw alreadyOnBoard(passenger);
+        }
+        if (occupied >= maxCapacity) {
+            throw new IllegalStateException("No available seats in " + typeName());
+        }
+
+        int seat = freeCount > 0 ? freeSeats[--freeCount] : nextNewSeat++;
+        if (seat >= seats.length) {
+            grow(seat + 1);
+        }
+        seatOf.put(passenger, seat);
+        seat(passenger, seat, occupied);
+        occupied++;
+        notifyListeners(1);
+    }
+
+    // Boards all of them or none: each passenger is checked against the admission policy and the seat
+    // index first, then capacity is reserved once for the whole batch and the listeners are told once.
+    // For passengers whose type is only known at run time, such as a crew read from a file, so it needs a
+    // vehicle created with its passenger type: only then does the policy check prove each one is a T.
+    @SuppressWarnings("unchecked")
+    public synchronized void boardPassengers(Collection<? extends Person> passengers) {
+        if (passengerType == null) {
+            throw new UnsupportedOperationException(typeName() + " was created without its passenger type " +
+                    "and can only board passengers one by one");
+        }
+        Object[] batch = passengers.toArray();
+        if (batch.length > maxCapacity - occupied) {
+            throw new IllegalStateException("No room for " + batch.length + " passengers in " + typeName() +
+                    ", " + (maxCapacity - occupied) + " seats available");
+        }
+
+        // Passengers are put in the seat index as they are checked, with no seat yet, so a passenger
+        // listed twice is caught too; on failure they are taken out again
+        int checked = 0;
+        try {
+            for (Object item : batch) {
+                Person passenger = (Person) item;
+                if (passenger == null) {
+                    throw new NullPointerException("Passenger cannot be null");
+                }
+                checkAdmitted(passenger);
+                if (seatOf.putIfAbsent((T) passenger, -1) != null) {
+                    throw alreadyOnBoard(passenger);
+                }
+                checked++;
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < checked; i++) {
+                seatOf.remove(batch[i]);
+            }
+            throw e;
+        }
+        if (batch.length == 0) {
+            return;
+        }
+
+        int newSeats = Math.max(0, batch.length - freeCount);
+        if (nextNewSeat + newSeats > seats.length) {
+            grow(nextNewSeat + newSeats);
         }
-        if (passengers.size() >= maxCapacity) {
-            throw new IllegalStateException("No available seats in " + getClass().getSimpleName());
+        for (Object passenger : batch) {
+            int seat = freeCount > 0 ? freeSeats[--freeCount] : nextNewSeat++;
+            seatOf.put((T) passenger, seat);
+            seat(passenger, seat, occupied);
+            occupied++;
         }
-        passengers.add(passenger);
+        notifyListeners(batch.length);
     }
 
-    public void disembarkPassenger(T passenger) {
+    public synchronized void disembarkPassenger(T passenger) {
         if (passenger == null) {
             throw new NullPointerException("Passenger cannot be null");
         }
-        if (!passengers.contains(passenger)) {
+        Integer seat = seatOf.remove(passenger);
+        if (seat == null) {
             throw new IllegalArgumentException("Passenger " + passenger.getName() +
-                    " is not in " + getClass().getSimpleName());
+                    " is not in " + typeName());
         }
-        passengers.remove(passenger);
+
+        // The last packed passenger moves into the leaving one's place
+        int index = packedIndexOfSeat[seat];
+        int last = --occupied;
+        if (index != last) {
+            Object moved = packed[last];
+            packed[index] = moved;
+            packedIndexOfSeat[seatOf.get(moved)] = index;
+        }
+        packed[last] = null;
+        seats[seat] = null;
+        if (freeCount == freeSeats.length) {
+            freeSeats = Arrays.copyOf(freeSeats, Math.max(INITIAL_SEATS, freeSeats.length * 2));
+        }
+        freeSeats[freeCount++] = seat;
+        notifyListeners(-1);
+    }
+
+    public synchronized boolean isOnBoard(T passenger) {
+        return passenger != null && seatOf.containsKey(passenger);
+    }
+
+    // The seat number of the passenger, or -1 when they are not on board
+    public synchronized int getSeatOf(T passenger) {
+        Integer seat = passenger == null ? null : seatOf.get(passenger);
+        return seat == null ? -1 : seat;
     }
 
-    public List<T> getPassengers() {
-        return new ArrayList<>(passengers);
+    // The passenger in the seat, or null when it is free
+    @SuppressWarnings("unchecked")
+    public synchronized T getPassengerInSeat(int seat) {
+        if (seat < 0 || seat >= maxCapacity) {
+            throw new IndexOutOfBoundsException("Seat " + seat + " is not in " + typeName());
+        }
+        return seat < seats.length ? (T) seats[seat] : null;
+    }
+
+    // A copy the caller can keep and change
+    public synchronized List<T> getPassengers() {
+        return new ArrayList<>(passengersView);
+    }
+
+    // Read-only and live: it always shows who is on board now, in no particular order, without copying.
+    // Only for a vehicle that no other thread is boarding; use getPassengers() otherwise.
+    public List<T> getPassengersView() {
+        return passengersView;
+    }
+
+    // Registers the listener and returns the occupancy it starts from; no change is missed or counted
+    // twice, because boarding waits while this runs
+    public synchronized int addOccupancyListener(OccupancyListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        OccupancyListener[] current = listeners;
+        OccupancyListener[] added = Arrays.copyOf(current, current.length + 1);
+        added[current.length] = listener;
+        listeners = added;
+        return occupied;
+    }
+
+    // Removes one registration of the listener and returns the occupancy it was last told about,
+    // or -1 when it was not registered
+    public synchronized int removeOccupancyListener(OccupancyListener listener) {
+        OccupancyListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                OccupancyListener[] removed = new OccupancyListener[current.length - 1];
+                System.arraycopy(current, 0, removed, 0, i);
+                System.arraycopy(current, i + 1, removed, i, current.length - i - 1);
+                listeners = removed;
+                return occupied;
+            }
+        }
+        return -1;
+    }
+
+    private void notifyListeners(int delta) {
+        for (OccupancyListener listener : listeners) {
+            listener.occupancyChanged(this, delta);
+        }
+    }
+
+    private void seat(Object passenger, int seat, int packedIndex) {
+        seats[seat] = passenger;
+        packed[packedIndex] = passenger;
+        packedIndexOfSeat[seat] = packedIndex;
+    }
+
+    private void checkAdmitted(Person passenger) {
+        if (!admissionPolicy.admits(passenger)) {
+            throw new IllegalArgumentException(typeNames.get(passenger.getClass()) + " " + passenger.getName() +
+                    " cannot board " + typeName());
+        }
+    }
+
+    private IllegalStateException alreadyOnBoard(Person passenger) {
+        return new IllegalStateException("Passenger " + passenger.getName() + " is already in " + typeName());
+    }
+
+    // The class's simple name, worked out once per class rather than on every message
+    private String typeName() {
+        return typeNames.get(getClass());
+    }
+
+    private void grow(int minSeats) {
+        long doubled = Math.max(INITIAL_SEATS, (long) seats.length * 2);
+        int length = (int) Math.min(maxCapacity, Math.max(minSeats, doubled));
+        seats = Arrays.copyOf(seats, length);
+        packedIndexOfSeat = Arrays.copyOf(packedIndexOfSeat, length);
+        packed = Arrays.copyOf(packed, length);
+    }
+
+    private final class PassengersView extends AbstractList<T> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= occupied) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + occupied);
+            }
+            return (T) packed[index];
+        }
+
+        @Override
+        public int size() {
+            return occupied;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && seatOf.containsKey(o);
+        }
     }
 
     @Override
     public String toString() {
-        return getClass().getSimpleName() + "{capacity=" + maxCapacity +
+        return typeName() + "{capacity=" + maxCapacity +
                 ", occupied=" + getOccupiedSeats() + "}";
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AdmissionPolicyTest {
+
+    @Test
+    void testPoliciesAdmitSubclassesOfTheirTypes() {
+        Person trainee = new Firefighter("Trainee") {};
+        assertTrue(AdmissionPolicy.ANYONE.admits(new Person("John")));
+        assertTrue(AdmissionPolicy.ANYONE.admits(new PoliceOfficer("Sarah")));
+        assertTrue(AdmissionPolicy.FIREFIGHTERS.admits(trainee));
+        assertFalse(AdmissionPolicy.FIREFIGHTERS.admits(new Person("John")));
+        assertFalse(AdmissionPolicy.POLICE_OFFICERS.admits(trainee));
+        assertFalse(AdmissionPolicy.ANYONE.admits((Person) null));
+
+        // The second answer comes from the bitset and must be the same
+        assertTrue(AdmissionPolicy.FIREFIGHTERS.admits(trainee));
+        assertFalse(AdmissionPolicy.POLICE_OFFICERS.admits(trainee));
+    }
+
+    @Test
+    void testPolicyOfSeveralTypes() {
+        AdmissionPolicy emergency = AdmissionPolicy.of(Firefighter.class, PoliceOfficer.class);
+        assertTrue(emergency.admits(new Firefighter("Mike")));
+        assertTrue(emergency.admits(new PoliceOfficer("Sarah")));
+        assertFalse(emergency.admits(new Person("John")));
+        assertEquals(PassengerTypes.idOf(Firefighter.class), PassengerTypes.idOf(Firefighter.class));
+    }
+
+    @Test
+    void testCrewCreatedByTypeNameBoardsInOneBatch() {
+        String[] lines = {"Firefighter,Chief", "Firefighter,Driver", "PoliceOfficer,Escort"};
+        List<Person> crew = new ArrayList<>();
+        for (String line : lines) {
+            String[] fields = line.split(",");
+            crew.add(PassengerTypes.create(fields[0], fields[1]));
+        }
+
+        FireTruck truck = new FireTruck(6);
+        assertThrows(IllegalArgumentException.class, () -> truck.boardPassengers(crew));
+        truck.boardPassengers(crew.subList(0, 2));
+        assertEquals(2, truck.getOccupiedSeats());
+        assertThrows(IllegalArgumentException.class, () -> PassengerTypes.create("Pilot", "Amelia"));
+        assertFalse(PassengerTypes.register("Firefighter", Firefighter::new));
+    }
+}
\ No newline at end of file
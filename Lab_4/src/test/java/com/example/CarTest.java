@@ -198,4 +198,28 @@ public class CarTest {
         assertFalse(afterDisembarkPassengers.contains(john));
         assertEquals(2, initialPassengers.size());
     }
+
+    @Test
+    void testBoardPassengersNeedsTheCarsPassengerType() {
+        List<Person> crew = List.of(sarah);
+
+        // Without the type the car cannot tell whether a PoliceOfficer is a Firefighter
+        Car<Firefighter> untyped = new Car<>(4);
+        assertThrows(UnsupportedOperationException.class, () -> untyped.boardPassengers(crew));
+        assertEquals(0, untyped.getOccupiedSeats());
+
+        Car<Firefighter> typed = new Car<>(4, Firefighter.class);
+        assertSame(AdmissionPolicy.FIREFIGHTERS, typed.getAdmissionPolicy());
+        assertThrows(IllegalArgumentException.class, () -> typed.boardPassengers(crew));
+        typed.boardPassengers(List.of(mike, new Firefighter("Bob")));
+        Firefighter first = typed.getPassengers().get(0);
+        assertEquals(mike, first);
+
+        // A policy admitting more than the type is refused when the car is built
+        assertThrows(IllegalArgumentException.class,
+                () -> new Car<Firefighter>(4, Firefighter.class, AdmissionPolicy.ANYONE) {});
+        Car<Person> emergency = new Car<>(4, Person.class, AdmissionPolicy.of(Firefighter.class, PoliceOfficer.class)) {};
+        emergency.boardPassengers(crew);
+        assertThrows(IllegalArgumentException.class, () -> emergency.boardPassengers(List.of(john)));
+    }
 }
\ No newline at end of file
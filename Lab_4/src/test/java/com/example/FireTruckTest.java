@@ -244,4 +244,16 @@ public class FireTruckTest {
         String result3 = fireTruck.toString();
         assertTrue(result3.contains("occupied=2"));
     }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void testFireTruckRejectsOtherPassengersThroughRawType() {
+        Vehicle raw = fireTruck;
+        assertThrows(IllegalArgumentException.class, () -> raw.boardPassenger(john));
+        assertThrows(IllegalArgumentException.class, () -> fireTruck.boardPassengers(List.of(mike, sarah)));
+        assertEquals(0, fireTruck.getOccupiedSeats());
+
+        fireTruck.boardPassengers(List.of(mike, bob));
+        assertEquals(2, fireTruck.getOccupiedSeats());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OccupancySamplerTest {
+    @TempDir
+    Path directory;
+
+    private Road road;
+    private Bus<Person> bus;
+    private Taxi<Person> taxi;
+    private FireTruck fireTruck;
+    private PoliceCar policeCar;
+
+    @BeforeEach
+    void setUp() {
+        road = new Road();
+        bus = new Bus<>(30);
+        taxi = new Taxi<>(4);
+        fireTruck = new FireTruck(6);
+        policeCar = new PoliceCar(2);
+        road.addCarToRoad(bus);
+        road.addCarToRoad(taxi);
+        road.addCarToRoad(fireTruck);
+        road.addCarToRoad(policeCar);
+    }
+
+    @Test
+    void testSamplesAreReadBackInOrder() throws IOException {
+        Path file = directory.resolve("occupancy.bin");
+        long[] clock = {1_000_000};
+        Person john = new Person("John");
+        try (OccupancySampler sampler = new OccupancySampler(road, file, () -> clock[0])) {
+            sampler.sample();
+            bus.boardPassenger(john);
+            bus.boardPassenger(new Person("Anna"));
+            fireTruck.boardPassenger(new Firefighter("Mike"));
+            policeCar.boardPassenger(new PoliceOfficer("Sarah"));
+            clock[0] += 500;
+            sampler.sample();
+            bus.disembarkPassenger(john);
+            road.removeCarFromRoad(fireTruck);
+            clock[0] += 500;
+            sampler.sample();
+        }
+
+        List<OccupancySample> samples = new ArrayList<>();
+        assertEquals(3, OccupancyTimeSeries.read(file, samples::add));
+        assertEquals(1_000_000, samples.get(0).getTimeMillis());
+        assertEquals(0, samples.get(0).getHumans());
+        assertEquals(4, samples.get(0).getVehicles());
+
+        OccupancySample second = samples.get(1);
+        assertEquals(1_000_500, second.getTimeMillis());
+        assertEquals(4, second.getHumans());
+        assertEquals(2, second.getOccupancy(OccupancySample.BUS));
+        assertEquals(1, second.getOccupancy(OccupancySample.FIRE_TRUCK));
+        assertEquals(1, second.getOccupancy(OccupancySample.POLICE_CAR));
+        assertEquals(0, second.getOccupancy(OccupancySample.TAXI));
+
+        OccupancySample third = samples.get(2);
+        assertEquals(2, third.getHumans());
+        assertEquals(3, third.getVehicles());
+        assertEquals(1, third.getOccupancy(OccupancySample.BUS));
+        assertEquals(0, third.getOccupancy(OccupancySample.FIRE_TRUCK));
+    }
+
+    @Test
+    void testSampleCutShortAtTheEndIsIgnored() throws IOException {
+        Path file = directory.resolve("occupancy.bin");
+        try (OccupancySampler sampler = new OccupancySampler(road, file, () -> 1_700_000_000_000L)) {
+            sampler.sample();
+            bus.boardPassenger(new Person("John"));
+            sampler.sample();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+
+        List<OccupancySample> samples = new ArrayList<>();
+        assertEquals(1, OccupancyTimeSeries.read(file, samples::add));
+        assertEquals(1_700_000_000_000L, samples.get(0).getTimeMillis());
+    }
+
+    @Test
+    void testSamplingWhileBoardingGoesOn() throws Exception {
+        Path file = directory.resolve("occupancy.bin");
+        Bus<Person> bigBus = new Bus<>(Integer.MAX_VALUE);
+        road.addCarToRoad(bigBus);
+        int threads = 4;
+        int perThread = 5_000;
+
+        try (OccupancySampler sampler = new OccupancySampler(road, file)) {
+            sampler.start(Duration.ofMillis(1));
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                executor.execute(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        bigBus.boardPassenger(new Person("Passenger" + thread + "-" + i));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            sampler.sample();
+        }
+
+        long[] last = {-1, -1};
+        long count = OccupancyTimeSeries.read(file, sample -> {
+            assertTrue(sample.getHumans() >= last[0]);
+            assertTrue(sample.getTimeMillis() >= last[1]);
+            last[0] = sample.getHumans();
+            last[1] = sample.getTimeMillis();
+        });
+        assertTrue(count >= 2);
+        assertEquals(threads * perThread, last[0]);
+    }
+
+    @Test
+    void testInvalidPeriodLeavesSamplerStartable() throws Exception {
+        Path file = directory.resolve("occupancy.bin");
+        try (OccupancySampler sampler = new OccupancySampler(road, file)) {
+            assertThrows(IllegalArgumentException.class, () -> sampler.start(Duration.ofNanos(1)));
+            assertThrows(NullPointerException.class, () -> sampler.start(null));
+            sampler.start(Duration.ofMinutes(1));
+            assertThrows(IllegalStateException.class, () -> sampler.start(Duration.ofMinutes(1)));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (sampler.getSampleCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+        assertEquals(1, OccupancyTimeSeries.read(file, sample -> {}), "The first sample is taken right away");
+    }
+
+    @Test
+    void testScheduledFailureStopsSampling() throws Exception {
+        Path file = directory.resolve("occupancy.bin");
+        AtomicInteger clockCalls = new AtomicInteger();
+        try (OccupancySampler sampler = new OccupancySampler(road, file, () -> {
+            if (clockCalls.incrementAndGet() == 2) {
+                throw new IllegalStateException("Clock stopped");
+            }
+            return clockCalls.get();
+        })) {
+            sampler.start(Duration.ofMillis(1));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (clockCalls.get() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(50);
+            assertEquals(2, clockCalls.get(), "No run should follow the failed one");
+            assertEquals(1, sampler.getSampleCount());
+        }
+        assertEquals(1, OccupancyTimeSeries.read(file, sample -> {}));
+    }
+
+    @Test
+    void testFailedWriteStopsSampling() throws IOException {
+        Path full = Path.of("/dev/full");
+        assumeTrue(Files.isWritable(full), "Needs a device that fails every write");
+        OccupancySampler sampler = new OccupancySampler(road, full);
+        IOException failure = assertThrows(IOException.class, sampler::sample);
+        IOException next = assertThrows(IOException.class, sampler::sample);
+        assertSame(failure, next.getCause(), "A sample after a failed write should not be written");
+        assertEquals(0, sampler.getSampleCount());
+        sampler.close();
+        assertThrows(IllegalStateException.class, sampler::sample);
+    }
+}
\ No newline at end of file
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class RoadTest {
     private Road road;
@@ -259,4 +262,97 @@ public class RoadTest {
         double occupancyRate = (double) totalOccupied / totalCapacity * 100;
         assertTrue(occupancyRate > 0 && occupancyRate <= 100);
     }
+
+    @Test
+    void testRemoveCarFromRoad() {
+        bus.boardPassenger(john);
+        taxi.boardPassenger(mike);
+        road.addCarToRoad(bus);
+        road.addCarToRoad(taxi);
+        assertTrue(road.removeCarFromRoad(bus));
+        assertFalse(road.removeCarFromRoad(bus));
+        assertEquals(1, road.getCountOfHumans());
+
+        // The bus is no longer counted once it has left
+        bus.boardPassenger(sarah);
+        assertEquals(1, road.getCountOfHumans());
+        taxi.boardPassenger(sarah);
+        assertEquals(2, road.getCountOfHumans());
+    }
+
+    @Test
+    void testCarsOnRoadMutatorsKeepCountExact() {
+        bus.boardPassenger(john);
+        taxi.boardPassenger(mike);
+        taxi.boardPassenger(sarah);
+        fireTruck.boardPassenger(mike);
+        road.carsOnRoad.add(bus);
+        road.carsOnRoad.add(0, taxi);
+        assertEquals(List.of(taxi, bus), road.getCarsOnRoad());
+        assertEquals(3, road.getCountOfHumans());
+
+        assertSame(taxi, road.carsOnRoad.set(0, fireTruck));
+        assertEquals(2, road.getCountOfHumans());
+        taxi.boardPassenger(john);
+        assertEquals(2, road.getCountOfHumans(), "A replaced vehicle is no longer counted");
+
+        road.carsOnRoad.addAll(List.of(taxi, policeCar));
+        assertTrue(road.carsOnRoad.removeIf(vehicle -> vehicle == bus));
+        assertEquals(List.of(fireTruck, taxi, policeCar), road.getCarsOnRoad());
+        assertEquals(4, road.getCountOfHumans());
+
+        road.carsOnRoad.removeAll(List.of(taxi));
+        assertEquals(1, road.getCountOfHumans());
+        road.carsOnRoad.retainAll(List.of(policeCar));
+        assertEquals(List.of(policeCar), road.getCarsOnRoad());
+        assertEquals(0, road.getCountOfHumans());
+
+        road.carsOnRoad.add(bus);
+        var iterator = road.carsOnRoad.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            if (iterator.next() == policeCar) {
+                iterator.remove();
+            }
+        }
+        assertEquals(List.of(bus), road.getCarsOnRoad());
+        assertEquals(1, road.getCountOfHumans());
+        assertThrows(IndexOutOfBoundsException.class, () -> road.carsOnRoad.add(5, taxi));
+        assertThrows(NullPointerException.class, () -> road.carsOnRoad.set(0, null));
+        assertEquals(1, road.getCountOfHumans());
+    }
+
+    @Test
+    void testCountStaysExactUnderConcurrentBoarding() throws InterruptedException {
+        int threads = 8;
+        int people = 2000;
+        List<Bus<Person>> buses = List.of(new Bus<>(threads * people), new Bus<>(threads * people));
+        for (Bus<Person> cityBus : buses) {
+            road.addCarToRoad(cityBus);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                for (int i = 0; i < people; i++) {
+                    Person passenger = new Person("P" + thread + "-" + i);
+                    Bus<Person> cityBus = buses.get(i % 2);
+                    cityBus.boardPassenger(passenger);
+                    if (i % 4 == 0) {
+                        cityBus.disembarkPassenger(passenger);
+                    }
+                }
+            });
+        }
+        // A vehicle joining while the others fill up is counted with the people it already carries
+        taxi.boardPassenger(john);
+        road.addCarToRoad(taxi);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int expected = threads * people * 3 / 4 + 1;
+        assertEquals(expected, buses.get(0).getOccupiedSeats() + buses.get(1).getOccupiedSeats() + 1);
+        assertEquals(expected, road.getCountOfHumans());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrafficSimulationTest {
+    private static final long SEED = 7;
+
+    private TrafficSimulation newSimulation() {
+        return new TrafficSimulation(new RoadNetwork(200, SEED), 5_000, 40, 300, 5, 10, SEED);
+    }
+
+    @Test
+    void testSameSeedGivesSameRunOnAnyNumberOfThreads() {
+        TrafficSimulation single = newSimulation();
+        TrafficSimulation parallel = newSimulation();
+
+        TrafficSimulation.Report singleReport = single.run(3600, 1);
+        TrafficSimulation.Report parallelReport = parallel.run(3600, 4);
+
+        assertTrue(singleReport.getEvents() > 0);
+        assertTrue(singleReport.getBoardings() > 0);
+        assertEquals(singleReport.getEvents(), parallelReport.getEvents());
+        assertEquals(singleReport.getBoardings(), parallelReport.getBoardings());
+        assertEquals(singleReport.getAlightings(), parallelReport.getAlightings());
+        for (int segment = 0; segment < 200; segment++) {
+            assertEquals(single.getWaitingAt(segment), parallel.getWaitingAt(segment));
+        }
+    }
+
+    @Test
+    void testNobodyIsLostOrCountedTwice() {
+        RoadNetwork network = new RoadNetwork(100, SEED);
+        TrafficSimulation simulation = new TrafficSimulation(network, 2_000, 20, 100, 3, 4, SEED);
+        assertEquals(2_000 + 3 * 6 + 4 * 2, simulation.getPopulation());
+
+        for (int i = 0; i < 4; i++) {
+            simulation.run(900, 2);
+            assertEquals(simulation.getPopulation(), simulation.getWaiting() + network.getCountOfHumans());
+        }
+        assertEquals(3600, simulation.getSimulatedSeconds());
+    }
+
+    @Test
+    void testRunCanBeContinued() {
+        TrafficSimulation once = newSimulation();
+        TrafficSimulation twice = newSimulation();
+
+        once.run(3600, 2);
+        twice.run(1800, 2);
+        twice.run(1800, 3);
+
+        assertEquals(once.getEvents(), twice.getEvents());
+        assertEquals(once.getBoardings(), twice.getBoardings());
+        assertEquals(once.getAlightings(), twice.getAlightings());
+        assertEquals(once.getWaiting(), twice.getWaiting());
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
 import java.util.List;
 
 public class VehicleTest {
@@ -96,4 +97,100 @@ public class VehicleTest {
         assertTrue(resultAfterDisembark.contains("occupied=2"));
         assertEquals(2, vehicle.getOccupiedSeats());
     }
-}
+
+    @Test
+    void testSeatNumbersAreStable() {
+        Vehicle<Person> vehicle = new Vehicle<>(3) {};
+        vehicle.boardPassenger(john);
+        vehicle.boardPassenger(mike);
+        vehicle.boardPassenger(arthur);
+        assertEquals(0, vehicle.getSeatOf(john));
+        assertEquals(1, vehicle.getSeatOf(mike));
+        assertEquals(2, vehicle.getSeatOf(arthur));
+
+        vehicle.disembarkPassenger(mike);
+        assertEquals(-1, vehicle.getSeatOf(mike));
+        assertNull(vehicle.getPassengerInSeat(1));
+        assertEquals(0, vehicle.getSeatOf(john));
+        assertEquals(2, vehicle.getSeatOf(arthur));
+
+        Person kate = new Person("Kate");
+        vehicle.boardPassenger(kate);
+        assertEquals(1, vehicle.getSeatOf(kate));
+        assertSame(kate, vehicle.getPassengerInSeat(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vehicle.getPassengerInSeat(3));
+    }
+
+    @Test
+    void testPassengersViewIsLiveAndReadOnly() {
+        Vehicle<Person> vehicle = new Vehicle<>(5) {};
+        List<Person> view = vehicle.getPassengersView();
+        vehicle.boardPassenger(john);
+        vehicle.boardPassenger(mike);
+        vehicle.boardPassenger(arthur);
+        assertSame(view, vehicle.getPassengersView());
+        assertEquals(3, view.size());
+
+        vehicle.disembarkPassenger(john);
+        assertEquals(2, view.size());
+        assertFalse(view.contains(john));
+        assertTrue(view.containsAll(List.of(mike, arthur)));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(john));
+        assertThrows(UnsupportedOperationException.class, view::clear);
+    }
+
+    @Test
+    void testLargeVehicleBoardsAndDisembarksEveryone() {
+        int seats = 100_000;
+        Vehicle<Person> train = new Vehicle<>(seats) {};
+        Person[] people = new Person[seats];
+        for (int i = 0; i < seats; i++) {
+            people[i] = new Person("Passenger" + i);
+            train.boardPassenger(people[i]);
+        }
+        assertEquals(seats, train.getOccupiedSeats());
+        assertThrows(IllegalStateException.class, () -> train.boardPassenger(new Person("Extra")));
+
+        for (int i = 0; i < seats; i += 2) {
+            train.disembarkPassenger(people[i]);
+        }
+        assertEquals(seats / 2, train.getOccupiedSeats());
+        assertTrue(train.isOnBoard(people[1]));
+        assertFalse(train.isOnBoard(people[0]));
+        assertEquals(seats / 2, train.getPassengersView().size());
+        for (Person passenger : train.getPassengersView()) {
+            assertEquals(passenger, train.getPassengerInSeat(train.getSeatOf(passenger)));
+        }
+    }
+
+    @Test
+    void testBoardPassengersBoardsTheWholeBatch() {
+        Vehicle<Person> vehicle = new Vehicle<>(5, Person.class) {};
+        vehicle.boardPassenger(john);
+        int[] notified = new int[1];
+        vehicle.addOccupancyListener((v, delta) -> notified[0] += delta);
+
+        vehicle.boardPassengers(List.of(mike, arthur, new Person("Anna")));
+
+        assertEquals(4, vehicle.getOccupiedSeats());
+        assertEquals(3, notified[0]);
+        assertTrue(vehicle.isOnBoard(mike));
+        assertEquals(arthur, vehicle.getPassengerInSeat(vehicle.getSeatOf(arthur)));
+    }
+
+    @Test
+    void testBoardPassengersIsAllOrNothing() {
+        Vehicle<Person> vehicle = new Vehicle<>(3, Person.class) {};
+        vehicle.boardPassenger(john);
+
+        assertThrows(IllegalStateException.class, () -> vehicle.boardPassengers(List.of(mike, arthur, new Person("Anna"))));
+        assertThrows(IllegalStateException.class, () -> vehicle.boardPassengers(List.of(mike, mike)));
+        assertThrows(IllegalStateException.class, () -> vehicle.boardPassengers(List.of(mike, john)));
+        assertThrows(NullPointerException.class, () -> vehicle.boardPassengers(Arrays.asList(mike, null)));
+
+        assertEquals(1, vehicle.getOccupiedSeats());
+        assertFalse(vehicle.isOnBoard(mike));
+        vehicle.boardPassengers(List.of(mike, arthur));
+        assertEquals(3, vehicle.getOccupiedSeats());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,4 @@
+package com.example;
+
+public record LengthBuckets(double averageLength, String[] below, String[] equal, String[] above) {
+}
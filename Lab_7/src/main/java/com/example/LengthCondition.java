@@ -0,0 +1,7 @@
+package com.example;
+
+// Primitive replacement for BiPredicate<String, Double> so the average is not boxed per element
+@FunctionalInterface
+interface LengthCondition {
+    boolean test(int length, double average);
+}
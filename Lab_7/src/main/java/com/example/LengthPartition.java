@@ -0,0 +1,4 @@
+package com.example;
+
+public record LengthPartition(double averageLength, String[] lessThanAverage, String[] greaterThanAverage) {
+}
@@ -12,15 +12,15 @@ public class Main {
         Scanner scanner = new Scanner(System.in);
         String continueInput = "y";
         while (continueInput.equals("y") || continueInput.equals("yes")) {
-            String[] inputArray = getValidInputArray(scanner);
-            if (inputArray == null) {
+            TokenList inputTokens = getValidInputTokens(scanner);
+            if (inputTokens == null) {
                 continue;
             }
             int choice = getValidChoice(scanner);
             if (choice == -1) {
                 continue;
             }
-            processChoice(inputArray, choice);
+            processChoice(inputTokens, choice);
             continueInput = getContinueInput(scanner);
             printLine();
         }
@@ -28,7 +28,7 @@ public class Main {
         System.out.println("Program finished.");
     }
 
-    private static String[] getValidInputArray(Scanner scanner) {
+    private static TokenList getValidInputTokens(Scanner scanner) {
         while (true) {
             System.out.print("Enter strings separated by commas: ");
             String input = scanner.nextLine().trim();
@@ -36,15 +36,12 @@ public class Main {
                 System.out.println("Input cannot be empty! Please enter at least one string.");
                 continue;
             }
-            String[] inputArray = Arrays.stream(input.split(","))
-                    .map(String::trim)
-                    .filter(s -> !s.isEmpty())
-                    .toArray(String[]::new);
-            if (inputArray.length == 0) {
+            TokenList inputTokens = CommaTokenizer.tokenize(input);
+            if (inputTokens.isEmpty()) {
                 System.out.println("No valid strings found! Please enter at least one non-empty string.");
                 continue;
             }
-            return inputArray;
+            return inputTokens;
         }
     }
 
@@ -67,25 +64,27 @@ public class Main {
         }
     }
 
-    private static void processChoice(String[] inputArray, int choice) {
-        double averageLength = StringLengthAnalyzer.calculateAverageLength(inputArray);
+    private static void processChoice(TokenList inputTokens, int choice) {
+        double averageLength = TokenLengthAnalyzer.calculateAverageLength(inputTokens);
         System.out.printf("Average length: %.2f%n", averageLength);
         switch (choice) {
-            case 1:
-                String[] lessThanAverage = StringLengthAnalyzer.findStringsLessThanAverage(inputArray);
+            case 1 -> {
+                String[] lessThanAverage = TokenLengthAnalyzer.findStringsLessThanAverage(inputTokens);
                 System.out.println("Strings with length less than average:");
                 printArray(lessThanAverage);
-            case 2:
-                String[] greaterThanAverage = StringLengthAnalyzer.findStringsGreaterThanAverage(inputArray);
+            }
+            case 2 -> {
+                String[] greaterThanAverage = TokenLengthAnalyzer.findStringsGreaterThanAverage(inputTokens);
                 System.out.println("Strings with length greater than average:");
                 printArray(greaterThanAverage);
-            case 3:
-                String[] lessResult = StringLengthAnalyzer.findStringsLessThanAverage(inputArray);
-                String[] greaterResult = StringLengthAnalyzer.findStringsGreaterThanAverage(inputArray);
+            }
+            case 3 -> {
+                LengthPartition partition = TokenLengthAnalyzer.partitionByAverage(inputTokens);
                 System.out.println("Strings with length less than average:");
-                printArray(lessResult);
+                printArray(partition.lessThanAverage());
                 System.out.println("Strings with length greater than average:");
-                printArray(greaterResult);
+                printArray(partition.greaterThanAverage());
+            }
         }
     }
 
@@ -0,0 +1,150 @@
+package com.example;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Fork-join counterpart of StringLengthAnalyzer for very large arrays. Work is split into fixed-size
+// chunks so per-chunk results can be combined with prefix sums and the output keeps the input order.
+public class ParallelStringLengthAnalyzer {
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+
+    private static final int BELOW = 0;
+    private static final int EQUAL = 1;
+    private static final int ABOVE = 2;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public ParallelStringLengthAnalyzer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelStringLengthAnalyzer(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public double calculateAverageLength(String[] strings) {
+        if (strings == null || strings.length == 0) {
+            return 0.0;
+        }
+        long[] chunkSums = new long[chunkCount(strings)];
+        forEachChunk(chunkSums.length, chunk -> {
+            long sum = 0;
+            for (int i = chunkStart(chunk), end = chunkEnd(chunk, strings); i < end; i++) {
+                sum += strings[i].length();
+            }
+            chunkSums[chunk] = sum;
+        });
+        long total = 0;
+        for (long sum : chunkSums) {
+            total += sum;
+        }
+        return (double) total / strings.length;
+    }
+
+    public String[] findStringsLessThanAverage(String[] strings) {
+        return partition(strings).below();
+    }
+
+    public String[] findStringsGreaterThanAverage(String[] strings) {
+        return partition(strings).above();
+    }
+
+    public LengthBuckets partition(String[] strings) {
+        if (strings == null || strings.length == 0) {
+            return new LengthBuckets(0.0, new String[0], new String[0], new String[0]);
+        }
+        double averageLength = calculateAverageLength(strings);
+        int chunks = chunkCount(strings);
+
+        // Count how many strings of each chunk go to each bucket
+        int[][] counts = new int[chunks][3];
+        forEachChunk(chunks, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = chunkStart(chunk), end = chunkEnd(chunk, strings); i < end; i++) {
+                chunkCounts[bucketOf(strings[i].length(), averageLength)]++;
+            }
+        });
+
+        // Turn the counts into each chunk's write offset in every bucket
+        int[] totals = new int[3];
+        for (int[] chunkCounts : counts) {
+            for (int bucket = 0; bucket < 3; bucket++) {
+                int count = chunkCounts[bucket];
+                chunkCounts[bucket] = totals[bucket];
+                totals[bucket] += count;
+            }
+        }
+
+        String[][] buckets = {new String[totals[BELOW]], new String[totals[EQUAL]], new String[totals[ABOVE]]};
+        forEachChunk(chunks, chunk -> {
+            int[] offsets = counts[chunk];
+            for (int i = chunkStart(chunk), end = chunkEnd(chunk, strings); i < end; i++) {
+                int bucket = bucketOf(strings[i].length(), averageLength);
+                buckets[bucket][offsets[bucket]++] = strings[i];
+            }
+        });
+        return new LengthBuckets(averageLength, buckets[BELOW], buckets[EQUAL], buckets[ABOVE]);
+    }
+
+    private static int bucketOf(int length, double averageLength) {
+        if (length < averageLength) {
+            return BELOW;
+        }
+        return length > averageLength ? ABOVE : EQUAL;
+    }
+
+    private int chunkCount(String[] strings) {
+        return (strings.length + chunkSize - 1) / chunkSize;
+    }
+
+    private int chunkStart(int chunk) {
+        return chunk * chunkSize;
+    }
+
+    private int chunkEnd(int chunk, String[] strings) {
+        return (int) Math.min((long) chunk * chunkSize + chunkSize, strings.length);
+    }
+
+    private void forEachChunk(int chunks, ChunkAction action) {
+        if (chunks == 1) {
+            action.run(0);
+        } else {
+            pool.invoke(new ChunkTask(action, 0, chunks));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        void run(int chunk);
+    }
+
+    // Only ever run in this JVM, never serialized; the action is a lambda and stays transient
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ChunkAction action;
+        private final int from;
+        private final int to;
+
+        ChunkTask(ChunkAction action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.run(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(action, from, middle), new ChunkTask(action, middle, to));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+// Works on comma- or newline-separated input that is too large to be held as a String[]
+public class StreamingStringLengthAnalyzer {
+    public static final int DEFAULT_IN_MEMORY_LENGTHS = 1 << 20;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final int inMemoryLengths;
+
+    public StreamingStringLengthAnalyzer() {
+        this(DEFAULT_IN_MEMORY_LENGTHS);
+    }
+
+    public StreamingStringLengthAnalyzer(int inMemoryLengths) {
+        if (inMemoryLengths <= 0) {
+            throw new IllegalArgumentException("In-memory capacity must be positive");
+        }
+        this.inMemoryLengths = inMemoryLengths;
+    }
+
+    public double calculateAverageLength(Path input) throws IOException {
+        long[] totals = new long[2]; // total length, count
+        try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            scan(reader, new TokenVisitor() {
+                @Override
+                public boolean beginToken() {
+                    return false;
+                }
+
+                @Override
+                public void token(int length, CharSequence text) {
+                    totals[0] += length;
+                    totals[1]++;
+                }
+            });
+        }
+        return totals[1] == 0 ? 0.0 : (double) totals[0] / totals[1];
+    }
+
+    // First pass computes the exact mean and records every length, second pass re-reads the input and
+    // emits both partitions at once. Strings equal to the average are never built.
+    public double partitionByAverage(Path input, Consumer<String> lessThanAverage,
+                                     Consumer<String> greaterThanAverage) throws IOException {
+        try (LengthIndex index = new LengthIndex(inMemoryLengths)) {
+            long[] totalLength = new long[1];
+            try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                scan(reader, new TokenVisitor() {
+                    @Override
+                    public boolean beginToken() {
+                        return false;
+                    }
+
+                    @Override
+                    public void token(int length, CharSequence text) throws IOException {
+                        totalLength[0] += length;
+                        index.add(length);
+                    }
+                });
+            }
+            if (index.size() == 0) {
+                return 0.0;
+            }
+            double averageLength = (double) totalLength[0] / index.size();
+
+            index.rewind();
+            try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                scan(reader, new TokenVisitor() {
+                    private int expectedLength;
+
+                    @Override
+                    public boolean beginToken() throws IOException {
+                        if (!index.hasNext()) {
+                            throw new IllegalStateException("Input changed between passes");
+                        }
+                        expectedLength = index.next();
+                        return expectedLength != averageLength;
+                    }
+
+                    @Override
+                    public void token(int length, CharSequence text) {
+                        if (length != expectedLength) {
+                            throw new IllegalStateException("Input changed between passes");
+                        }
+                        if (length < averageLength) {
+                            lessThanAverage.accept(text.toString());
+                        } else if (length > averageLength) {
+                            greaterThanAverage.accept(text.toString());
+                        }
+                    }
+                });
+            }
+            if (index.hasNext()) {
+                throw new IllegalStateException("Input changed between passes");
+            }
+            return averageLength;
+        }
+    }
+
+    private interface TokenVisitor {
+        // Called on the first non-blank character of a token, returns whether its text is needed
+        boolean beginToken() throws IOException;
+
+        // Text is null unless beginToken asked for it
+        void token(int length, CharSequence text) throws IOException;
+    }
+
+    // Splits by commas and line breaks, trims every token like String.trim and skips empty ones
+    private static void scan(Reader reader, TokenVisitor visitor) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        StringBuilder text = new StringBuilder();
+        boolean capture = false;
+        int span = 0;
+        int length = 0;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == ',' || c == '\n' || c == '\r') {
+                    if (length > 0) {
+                        emit(visitor, length, capture ? text : null);
+                    }
+                    span = 0;
+                    length = 0;
+                    continue;
+                }
+                if (span == 0) {
+                    if (c <= ' ') {
+                        continue; // Leading whitespace
+                    }
+                    capture = visitor.beginToken();
+                    text.setLength(0);
+                }
+                span++;
+                if (capture) {
+                    text.append(c);
+                }
+                if (c > ' ') {
+                    length = span;
+                }
+            }
+        }
+        if (length > 0) {
+            emit(visitor, length, capture ? text : null);
+        }
+    }
+
+    private static void emit(TokenVisitor visitor, int length, StringBuilder text) throws IOException {
+        if (text != null) {
+            text.setLength(length); // Drops trailing whitespace
+        }
+        visitor.token(length, text);
+    }
+}
@@ -1,29 +1,42 @@
 package com.example;
 
 import java.util.Arrays;
-import java.util.function.BiPredicate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class StringLengthAnalyzer {
 
     public static String[] findStringsLessThanAverage(String[] strings) {
-        return filterStringsByAverage(strings, (str, avg) -> str.length() < avg);
+        return filterStringsByAverage(strings, (length, avg) -> length < avg);
     }
 
     public static String[] findStringsGreaterThanAverage(String[] strings) {
-        return filterStringsByAverage(strings, (str, avg) -> str.length() > avg);
+        return filterStringsByAverage(strings, (length, avg) -> length > avg);
     }
 
-    private static String[] filterStringsByAverage(String[] strings, BiPredicate<String, Double> condition) {
+    private static String[] filterStringsByAverage(String[] strings, LengthCondition condition) {
         double averageLength = calculateAverageLength(strings);
         return Arrays.stream(strings == null ? new String[0] : strings)
-                .filter(str -> condition.test(str, averageLength))
+                .filter(str -> condition.test(str.length(), averageLength))
                 .toArray(String[]::new);
     }
 
+    // Computes the average once and fills both partitions in a single traversal
+    public static LengthPartition partitionByAverage(String[] strings) {
+        double averageLength = calculateAverageLength(strings);
+        Map<Boolean, List<String>> partitions = Arrays.stream(strings == null ? new String[0] : strings)
+                .filter(str -> str.length() != averageLength)
+                .collect(Collectors.partitioningBy(str -> str.length() < averageLength));
+        return new LengthPartition(averageLength,
+                partitions.get(true).toArray(String[]::new),
+                partitions.get(false).toArray(String[]::new));
+    }
+
     public static double calculateAverageLength(String[] strings) {
         return Arrays.stream(strings == null ? new String[0] : strings)
                 .mapToInt(String::length)
                 .average()
                 .orElse(0.0);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Incrementally maintained length histogram with a posting list per length.
+// Adding a string is O(1) amortized and threshold queries only visit the lengths on the requested side,
+// so repeated average queries over a growing dataset do not rescan every string.
+// Query results are ordered by length, then by insertion order within the same length.
+public class StringLengthIndex {
+    private final List<List<String>> postings = new ArrayList<>();
+    private int[] histogram = new int[16];
+    private long totalLength;
+    private int size;
+
+    public void add(String str) {
+        int length = str.length();
+        if (length >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, Math.max(length + 1, histogram.length * 2));
+        }
+        while (postings.size() <= length) {
+            postings.add(new ArrayList<>());
+        }
+        histogram[length]++;
+        postings.get(length).add(str);
+        totalLength += length;
+        size++;
+    }
+
+    public void addAll(String[] strings) {
+        Arrays.stream(strings).forEach(this::add);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double calculateAverageLength() {
+        return size == 0 ? 0.0 : (double) totalLength / size;
+    }
+
+    public int countWithLength(int length) {
+        return length >= 0 && length < histogram.length ? histogram[length] : 0;
+    }
+
+    public String[] findStringsLessThanAverage() {
+        return findStringsShorterThan(calculateAverageLength());
+    }
+
+    public String[] findStringsGreaterThanAverage() {
+        return findStringsLongerThan(calculateAverageLength());
+    }
+
+    public String[] findStringsShorterThan(double threshold) {
+        int end = (int) Math.min(Math.ceil(threshold), postings.size());
+        return collect(0, end);
+    }
+
+    public String[] findStringsLongerThan(double threshold) {
+        int start = (int) Math.max(Math.floor(threshold) + 1, 0);
+        return collect(start, postings.size());
+    }
+
+    public int countShorterThan(double threshold) {
+        int end = (int) Math.min(Math.ceil(threshold), postings.size());
+        int count = 0;
+        for (int length = 0; length < end; length++) {
+            count += histogram[length];
+        }
+        return count;
+    }
+
+    // Smallest length such that at least the given fraction (0..1] of strings are not longer than it
+    public int lengthAtPercentile(double fraction) {
+        if (fraction <= 0 || fraction > 1) {
+            throw new IllegalArgumentException("Fraction must be in (0, 1]");
+        }
+        if (size == 0) {
+            throw new IllegalStateException("Index is empty");
+        }
+        long required = (long) Math.ceil(fraction * size);
+        long seen = 0;
+        for (int length = 0; length < postings.size(); length++) {
+            seen += histogram[length];
+            if (seen >= required) {
+                return length;
+            }
+        }
+        return postings.size() - 1;
+    }
+
+    private String[] collect(int fromLength, int toLength) {
+        int count = 0;
+        for (int length = fromLength; length < toLength; length++) {
+            count += histogram[length];
+        }
+        String[] result = new String[count];
+        int position = 0;
+        for (int length = fromLength; length < toLength; length++) {
+            for (String str : postings.get(length)) {
+                result[position++] = str;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example;
+
+import java.util.stream.IntStream;
+
+// StringLengthAnalyzer for tokenized input: lengths come from the token views and only the selected tokens become Strings
+public class TokenLengthAnalyzer {
+
+    public static String[] findStringsLessThanAverage(TokenList tokens) {
+        return filterTokensByAverage(tokens, (length, avg) -> length < avg);
+    }
+
+    public static String[] findStringsGreaterThanAverage(TokenList tokens) {
+        return filterTokensByAverage(tokens, (length, avg) -> length > avg);
+    }
+
+    private static String[] filterTokensByAverage(TokenList tokens, LengthCondition condition) {
+        double averageLength = calculateAverageLength(tokens);
+        return IntStream.range(0, tokens.size())
+                .filter(i -> condition.test(tokens.length(i), averageLength))
+                .mapToObj(tokens::get)
+                .toArray(String[]::new);
+    }
+
+    // Counts each side first, then fills arrays of exactly that size, so no token index is boxed
+    public static LengthPartition partitionByAverage(TokenList tokens) {
+        double averageLength = calculateAverageLength(tokens);
+        int lessCount = 0;
+        int greaterCount = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            int length = tokens.length(i);
+            if (length < averageLength) {
+                lessCount++;
+            } else if (length > averageLength) {
+                greaterCount++;
+            }
+        }
+        String[] less = new String[lessCount];
+        String[] greater = new String[greaterCount];
+        lessCount = 0;
+        greaterCount = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            int length = tokens.length(i);
+            if (length < averageLength) {
+                less[lessCount++] = tokens.get(i);
+            } else if (length > averageLength) {
+                greater[greaterCount++] = tokens.get(i);
+            }
+        }
+        return new LengthPartition(averageLength, less, greater);
+    }
+
+    public static double calculateAverageLength(TokenList tokens) {
+        return IntStream.range(0, tokens.size())
+                .map(tokens::length)
+                .average()
+                .orElse(0.0);
+    }
+}
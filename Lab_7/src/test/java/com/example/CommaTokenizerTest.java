@@ -0,0 +1,58 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommaTokenizerTest {
+    // Test that tokenizing gives the same strings as split, trim and filtering blanks
+    @Test
+    void testMatchesSplitAndTrim() {
+        String input = "  apple , banana,,  , pear  ,x";
+        String[] expected = Arrays.stream(input.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toArray(String[]::new);
+        TokenList tokens = CommaTokenizer.tokenize(input);
+        System.out.printf("Expected: %s | Actual: %s%n", Arrays.toString(expected), Arrays.toString(tokens.toArray()));
+        assertArrayEquals(expected, tokens.toArray());
+        assertEquals(6, tokens.length(1));
+    }
+
+    // Test inputs with nothing but separators and blanks
+    @Test
+    void testBlankInput() {
+        assertTrue(CommaTokenizer.tokenize("").isEmpty());
+        assertTrue(CommaTokenizer.tokenize(" , ,\t,").isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> CommaTokenizer.tokenize("").length(0));
+    }
+
+    // Test that tokens of a CharBuffer are views into the same buffer
+    @Test
+    void testCharBufferViews() {
+        CharBuffer buffer = CharBuffer.wrap("ab, cde ,f".toCharArray());
+        TokenList tokens = CommaTokenizer.tokenize(buffer);
+        assertEquals(3, tokens.size());
+        assertEquals("cde", tokens.view(1).toString());
+        assertTrue(tokens.view(1) instanceof CharBuffer);
+    }
+
+    // Test that the analyzer gives the same results for tokens and for string arrays
+    @Test
+    void testAnalyzerOnTokens() {
+        TokenList tokens = CommaTokenizer.tokenize("abc, abcd, abcde, ab");
+        String[] strings = tokens.toArray();
+
+        assertEquals(StringLengthAnalyzer.calculateAverageLength(strings), TokenLengthAnalyzer.calculateAverageLength(tokens));
+        assertArrayEquals(StringLengthAnalyzer.findStringsLessThanAverage(strings), TokenLengthAnalyzer.findStringsLessThanAverage(tokens));
+        assertArrayEquals(StringLengthAnalyzer.findStringsGreaterThanAverage(strings), TokenLengthAnalyzer.findStringsGreaterThanAverage(tokens));
+
+        LengthPartition partition = TokenLengthAnalyzer.partitionByAverage(tokens);
+        assertArrayEquals(new String[]{"abc", "ab"}, partition.lessThanAverage());
+        assertArrayEquals(new String[]{"abcd", "abcde"}, partition.greaterThanAverage());
+        assertEquals(0, TokenLengthAnalyzer.findStringsLessThanAverage(CommaTokenizer.tokenize(",")).length);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelStringLengthAnalyzerTest {
+    // Small chunks force the work to be split across many fork-join tasks
+    private final ParallelStringLengthAnalyzer analyzer = new ParallelStringLengthAnalyzer(ForkJoinPool.commonPool(), 7);
+
+    // Test that the parallel average matches the sequential one
+    @Test
+    void testAverageLengthMatchesSequential() {
+        String[] strings = randomStrings(1000, 42);
+        double expected = StringLengthAnalyzer.calculateAverageLength(strings);
+        double actual = analyzer.calculateAverageLength(strings);
+        System.out.printf("Average - Expected: %.4f | Actual: %.4f%n", expected, actual);
+        assertEquals(expected, actual, 1e-9);
+    }
+
+    // Test that the buckets keep input order and match the sequential filters
+    @Test
+    void testPartitionMatchesSequential() {
+        String[] strings = randomStrings(1000, 7);
+        LengthBuckets buckets = analyzer.partition(strings);
+
+        assertArrayEquals(StringLengthAnalyzer.findStringsLessThanAverage(strings), buckets.below());
+        assertArrayEquals(StringLengthAnalyzer.findStringsGreaterThanAverage(strings), buckets.above());
+        String[] equal = Arrays.stream(strings)
+                .filter(str -> str.length() == buckets.averageLength())
+                .toArray(String[]::new);
+        assertArrayEquals(equal, buckets.equal());
+        assertEquals(strings.length, buckets.below().length + buckets.equal().length + buckets.above().length);
+    }
+
+    // Test the single-chunk path with the example from the sequential tests
+    @Test
+    void testSmallInput() {
+        String[] input = {"abc", "abcd", "abcde", "ab"};
+        ParallelStringLengthAnalyzer defaultAnalyzer = new ParallelStringLengthAnalyzer();
+        assertArrayEquals(new String[]{"abc", "ab"}, defaultAnalyzer.findStringsLessThanAverage(input));
+        assertArrayEquals(new String[]{"abcd", "abcde"}, defaultAnalyzer.findStringsGreaterThanAverage(input));
+    }
+
+    // Test empty and null input
+    @Test
+    void testEmptyInput() {
+        assertEquals(0.0, analyzer.calculateAverageLength(null));
+        assertEquals(0, analyzer.findStringsLessThanAverage(new String[0]).length);
+        assertEquals(0, analyzer.partition(null).equal().length);
+    }
+
+    private static String[] randomStrings(int count, long seed) {
+        Random random = new Random(seed);
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = "s" + i + "x".repeat(random.nextInt(10));
+        }
+        return strings;
+    }
+}
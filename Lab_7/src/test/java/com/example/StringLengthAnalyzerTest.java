@@ -122,6 +122,26 @@ class StringLengthAnalyzerTest {
         System.out.println();
     }
 
+    // Test that a single partition call returns the same results as the two separate filters
+    @Test
+    void testPartitionByAverage() {
+        System.out.println("--- testPartitionByAverage ---");
+
+        String[] input = {"abc", "abcd", "abcde", "ab"};
+        LengthPartition partition = StringLengthAnalyzer.partitionByAverage(input);
+        printCombinedResult("Partition", new String[]{"abc", "ab"}, partition.lessThanAverage(),
+                new String[]{"abcd", "abcde"}, partition.greaterThanAverage());
+        assertEquals(3.5, partition.averageLength());
+        assertArrayEquals(StringLengthAnalyzer.findStringsLessThanAverage(input), partition.lessThanAverage());
+        assertArrayEquals(StringLengthAnalyzer.findStringsGreaterThanAverage(input), partition.greaterThanAverage());
+
+        LengthPartition empty = StringLengthAnalyzer.partitionByAverage(null);
+        assertEquals(0, empty.lessThanAverage().length);
+        assertEquals(0, empty.greaterThanAverage().length);
+
+        System.out.println();
+    }
+
     // Test edge cases: same length strings, single string, empty array, and null input
     @Test
     void testEdgeCases() {
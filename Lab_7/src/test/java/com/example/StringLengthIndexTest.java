@@ -0,0 +1,67 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringLengthIndexTest {
+    // Test that the average is kept up to date while strings are added
+    @Test
+    void testAverageUpdatedOnInsert() {
+        StringLengthIndex index = new StringLengthIndex();
+        assertEquals(0.0, index.calculateAverageLength());
+
+        index.addAll(new String[]{"apple", "banana", "pear"});
+        System.out.printf("Average - Expected: %.1f | Actual: %.1f%n", 5.0, index.calculateAverageLength());
+        assertEquals(5.0, index.calculateAverageLength());
+
+        index.add("kiwi");
+        assertEquals(4.75, index.calculateAverageLength());
+        assertEquals(2, index.countWithLength(4));
+        assertEquals(4, index.size());
+    }
+
+    // Test that average queries return the same strings as StringLengthAnalyzer
+    @Test
+    void testAverageQueriesMatchAnalyzer() {
+        String[] strings = {"abc", "abcd", "abcde", "ab", "x", "abcdefgh", "abcd"};
+        StringLengthIndex index = new StringLengthIndex();
+        index.addAll(strings);
+
+        assertSameElements(StringLengthAnalyzer.findStringsLessThanAverage(strings), index.findStringsLessThanAverage());
+        assertSameElements(StringLengthAnalyzer.findStringsGreaterThanAverage(strings), index.findStringsGreaterThanAverage());
+
+        index.add("abcdefghijklmnopqrstuvwxyz");
+        assertArrayEquals(new String[]{"abcdefgh", "abcdefghijklmnopqrstuvwxyz"}, index.findStringsGreaterThanAverage());
+    }
+
+    // Test arbitrary thresholds and percentiles
+    @Test
+    void testThresholdsAndPercentiles() {
+        StringLengthIndex index = new StringLengthIndex();
+        index.addAll(new String[]{"a", "bb", "cc", "ddd", "eeee"});
+
+        assertArrayEquals(new String[]{"a", "bb", "cc"}, index.findStringsShorterThan(2.5));
+        assertArrayEquals(new String[]{"a"}, index.findStringsShorterThan(2));
+        assertArrayEquals(new String[]{"ddd", "eeee"}, index.findStringsLongerThan(2));
+        assertArrayEquals(new String[0], index.findStringsLongerThan(10));
+        assertEquals(3, index.countShorterThan(3));
+
+        assertEquals(2, index.lengthAtPercentile(0.5));
+        assertEquals(4, index.lengthAtPercentile(1.0));
+        assertEquals(1, index.lengthAtPercentile(0.2));
+        assertThrows(IllegalArgumentException.class, () -> index.lengthAtPercentile(0));
+        assertThrows(IllegalStateException.class, () -> new StringLengthIndex().lengthAtPercentile(0.5));
+    }
+
+    private static void assertSameElements(String[] expected, String[] actual) {
+        String[] sortedExpected = expected.clone();
+        String[] sortedActual = actual.clone();
+        Arrays.sort(sortedExpected);
+        Arrays.sort(sortedActual);
+        System.out.printf("Expected: %s | Actual: %s%n", Arrays.toString(expected), Arrays.toString(actual));
+        assertArrayEquals(sortedExpected, sortedActual);
+    }
+}